@@ -0,0 +1,108 @@
+package com.studyolle.account;
+
+import com.studyolle.account.AccountRepository.AccountInterest;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** AccountInterestIndexBenchmark 관심 계정 찾기 시간
+ 목적 : 계정 100만 명일 때 새 스터디에 관심있을 계정(태그 합집합 ∩ 지역 합집합)을 찾는 데 몇 마이크로초 걸리는지 재기 위해서
+ 설명 : 계정마다 태그 200개 중 1~5개(앞쪽 태그일수록 많이 고름), 지역 250개 중 1~2개를 골라 AccountInterestIndex를 만든다.
+       DB 대신 AccountRepository mock이 (계정 id, 태그/지역 id)를 돌려준다.
+       typicalStudy - 태그 3개, 지역 1개. popularStudy - 인기 태그 5개, 지역 3개. tagsOnly - 지역 없는 스터디.
+       interestsChanged - 관심 주제 하나를 넣고 빼는 변경 반영.
+ 비고 : mvn -Pjmh test-compile exec:exec -Djmh.args="AccountInterestIndexBenchmark -p accounts=1000000"
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AccountInterestIndexBenchmark {
+
+    private static final int TAGS = 200;
+    private static final int ZONES = 250;
+
+    @Param({"1000000"})
+    private int accounts;
+
+    private AccountInterestIndex accountInterestIndex;
+    private Random random;
+    private boolean added;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        List<AccountInterest> tagInterests = new ArrayList<>();
+        List<AccountInterest> zoneInterests = new ArrayList<>();
+        for (long accountId = 1; accountId <= accounts; accountId++) {
+            for (int i = 0, count = 1 + random.nextInt(5); i < count; i++) {
+                tagInterests.add(interest(accountId, popularFirst(TAGS)));
+            }
+            for (int i = 0, count = 1 + random.nextInt(2); i < count; i++) {
+                zoneInterests.add(interest(accountId, popularFirst(ZONES)));
+            }
+        }
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.streamAllTagInterests()).thenReturn(tagInterests.stream());
+        when(accountRepository.streamAllZoneInterests()).thenReturn(zoneInterests.stream());
+        accountInterestIndex = new AccountInterestIndex(accountRepository, mock(PlatformTransactionManager.class));
+        accountInterestIndex.findInterested(List.of(0L), List.of()); //처음 찾을 때 만든다.
+        System.out.printf("%n%d accounts, %d tag and %d zone interests, index %d bytes%n",
+                accounts, tagInterests.size(), zoneInterests.size(), accountInterestIndex.sizeInBytes());
+    }
+
+    @Benchmark
+    public Roaring64NavigableMap typicalStudy() {
+        return accountInterestIndex.findInterested(
+                List.of(popularFirst(TAGS), popularFirst(TAGS), popularFirst(TAGS)), List.of(popularFirst(ZONES)));
+    }
+
+    @Benchmark
+    public Roaring64NavigableMap popularStudy() {
+        return accountInterestIndex.findInterested(List.of(0L, 1L, 2L, 3L, 4L), List.of(0L, 1L, 2L));
+    }
+
+    @Benchmark
+    public Roaring64NavigableMap tagsOnly() {
+        return accountInterestIndex.findInterested(List.of(popularFirst(TAGS), popularFirst(TAGS)), List.of());
+    }
+
+    @Benchmark
+    public void interestsChanged() {
+        long accountId = 1 + random.nextInt(accounts);
+        added = !added;
+        accountInterestIndex.onInterestsChanged(added
+                ? AccountInterestsChangedEvent.tagAdded(accountId, 7L)
+                : AccountInterestsChangedEvent.tagRemoved(accountId, 7L));
+    }
+
+    private long popularFirst(int keys) {
+        double r = random.nextDouble();
+        return (long) (keys * r * r); //앞쪽 키일수록 자주 나온다.
+    }
+
+    private static AccountInterest interest(long accountId, long keyId) {
+        return new AccountInterest() {
+            @Override
+            public Long getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public Long getKeyId() {
+                return keyId;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.studyolle.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** BoundedPasswordEncoderBenchmark 비밀번호 해시 처리량
+ 목적 : 우리 서버에서 bcrypt cost마다 코어 하나가 초당 몇 번 해시하는지 재서 app.password-hashing.bcrypt-strength를 고르기 위해서
+ 설명 : bcrypt - 요청 스레드 하나에서 바로 확인(matches)한다. 코어 하나의 초당 해시 수가 된다.
+       bounded - BoundedPasswordEncoder(해시 스레드 1개)를 거쳐 확인한다. bcrypt와의 차이가 스레드 풀을 거치는 비용이다.
+       boundedUnderLoad - 코어 수만큼의 요청 스레드가 동시에 확인한다. 해시 스레드 수(코어 수)에서 처리량이 더 늘지 않는 것을 본다.
+ 비고 : mvn -Pjmh test-compile exec:exec -Djmh.args="BoundedPasswordEncoderBenchmark -p strength=10,12"
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoundedPasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "12345678";
+
+    @Param({"10", "11", "12"})
+    private int strength;
+
+    private PasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private BoundedPasswordEncoder boundedPool;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        encodedPassword = bcrypt.encode(RAW_PASSWORD);
+        bounded = boundedEncoder(1);
+        boundedPool = boundedEncoder(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+        boundedPool.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return bcrypt.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean bounded() {
+        return bounded.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean boundedUnderLoad() {
+        return boundedPool.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    private BoundedPasswordEncoder boundedEncoder(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(200));
+        return new BoundedPasswordEncoder(bcrypt, executor, TimeUnit.MINUTES.toMillis(1));
+    }
+}
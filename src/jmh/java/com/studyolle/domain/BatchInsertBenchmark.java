@@ -0,0 +1,112 @@
+package com.studyolle.domain;
+
+import com.studyolle.App;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** BatchInsertBenchmark 계정/스터디 저장 처리량
+ 목적 : 시퀀스를 50개씩 미리 받고 INSERT를 JDBC 배치로 묶기 전(before)과 후(after)에 초당 몇 쌍(계정 + 스터디)을 저장하는지 재기 위해서
+ 설명 : 앱을 H2 메모리 DB로 띄우고, 한 트랜잭션에서 계정과 스터디(관리자로 그 계정)를 PAIRS쌍 저장한다. 결과는 초당 저장한 쌍 수다.
+       after - 지금 설정 그대로 (allocationSize 50, hibernate.jdbc.batch_size 50)
+       before - 시퀀스 증가값을 1로 바꾸고 하이버네이트가 그에 맞추게(increment_size_mismatch_strategy=fix) 다시 띄운다.
+                예전처럼 행마다 시퀀스를 읽고 INSERT를 하나씩 보낸다. (batch_size 0)
+ 비고 : mvn -Pjmh test-compile exec:exec -Djmh.args="BatchInsertBenchmark"
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final int PAIRS = 100;
+
+    @Param({"before", "after"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:batch-" + mode + ";DB_CLOSE_DELAY=-1", //다시 띄워도 테이블이 남도록
+                "server.port=0", //passwordEncoder가 ServerProperties를 쓰므로 웹 앱으로 띄우되 빈 포트에 붙인다.
+                "spring.main.banner-mode=off",
+                "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration", //닫을 때 메모리 DB를 SHUTDOWN하지 않도록
+                "logging.level.root=warn"));
+
+        context = start(properties, "spring.jpa.hibernate.ddl-auto=create");
+        if ("before".equals(mode)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.execute("alter sequence account_seq increment by 1");
+            jdbcTemplate.execute("alter sequence study_seq increment by 1");
+            context.close();
+            context = start(properties,
+                    "spring.jpa.hibernate.ddl-auto=none",
+                    "spring.jpa.properties.hibernate.id.sequence.increment_size_mismatch_strategy=fix",
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+                    "spring.jpa.properties.hibernate.order_inserts=false");
+        }
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void insertAccountsAndStudies() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < PAIRS; i++) {
+                long n = ++sequence;
+                Account account = Account.builder().nickname("bench" + n).email("bench" + n + "@email.com").password("password").build();
+                entityManager.persist(account);
+                Study study = new Study(); //빌더는 managers를 초기화하지 않는다.
+                study.setPath("bench-" + n);
+                study.setTitle("study " + n);
+                study.addManager(account);
+                entityManager.persist(study);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static ConfigurableApplicationContext start(List<String> properties, String... overrides) {
+        List<String> all = new ArrayList<>(properties);
+        all.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(App.class)
+                .properties(all.toArray(String[]::new))
+                .initializers(context -> context.getBeanFactory() //테스트 클래스 안의 @TestConfiguration은 읽지 않는다. (@SpringBootTest와 같게)
+                        .registerSingleton(TestConfigurationExcludeFilter.class.getName(), new TestConfigurationExcludeFilter()))
+                .run();
+    }
+
+    private static class TestConfigurationExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+        }
+    }
+}
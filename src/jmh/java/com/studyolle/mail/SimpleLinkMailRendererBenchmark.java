@@ -0,0 +1,68 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/** SimpleLinkMailRendererBenchmark 링크 메일 본문 렌더링 비교
+ 목적 : 미리 나눠둔 조각을 이어 붙이는 SimpleLinkMailRenderer가 메일마다 TemplateEngine.process를 부르던 방식보다 얼마나 빠른지 재기 위해서
+ 설명 : 두 방식 모두 같은 템플릿 엔진 설정(캐시 사용)으로 같은 값을 렌더링한다. 메일마다 토큰이 바뀌므로 링크는 호출마다 바꾼다.
+ 비고 : mvn -Pjmh test-compile exec:exec -Djmh.args="SimpleLinkMailRendererBenchmark"
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimpleLinkMailRendererBenchmark {
+
+    private static final String NICKNAME = "keesun";
+    private static final String MESSAGE = "스터디올래 서비스를 사용하려면 링크를 클릭하세요.";
+    private static final String LINK_NAME = "이메일 인증하기";
+
+    private SpringTemplateEngine templateEngine;
+    private AppProperties appProperties;
+    private SimpleLinkMailRenderer simpleLinkMailRenderer;
+    private long token;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true); //운영 설정과 같이 파싱한 템플릿은 캐시
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        simpleLinkMailRenderer = new SimpleLinkMailRenderer(templateEngine, appProperties);
+        simpleLinkMailRenderer.render(NICKNAME, MESSAGE, link(), LINK_NAME); //조각 나누기는 측정에서 뺀다.
+    }
+
+    @Benchmark
+    public String compiledRenderer() {
+        return simpleLinkMailRenderer.render(NICKNAME, MESSAGE, link(), LINK_NAME);
+    }
+
+    @Benchmark
+    public String templateEngine() {
+        Context context = new Context();
+        context.setVariable("link", link());
+        context.setVariable("nickname", NICKNAME);
+        context.setVariable("linkName", LINK_NAME);
+        context.setVariable("message", MESSAGE);
+        context.setVariable("host", appProperties.getHost());
+        return templateEngine.process(SimpleLinkMailRenderer.TEMPLATE, context);
+    }
+
+    private String link() {
+        return "/check-email-token?token=" + Long.toHexString(++token) + "&email=keesun@email.com";
+    }
+}
@@ -0,0 +1,133 @@
+package com.studyolle.search;
+
+import com.studyolle.config.StudySearchProperties;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/** StudySearchIndexBenchmark 스터디 검색 색인 검색 시간
+ 목적 : 스터디 10만 개(가짜 데이터)를 색인했을 때 검색 한번에 걸리는 시간을 재기 위해서
+ 설명 : 이름/짧은 소개/본문은 주제 낱말과 일반 문장을 섞어 만들고, 태그 50개, 지역 20개 중 2~3개, 1~2개를 고른다.
+       keyword - 검색어만, keywordAndFilters - 검색어 + 태그/지역 조건, filtersOnly - 검색어 없이 최근에 만든 순, deepPage - 검색어로 10페이지.
+ 비고 : 색인은 메모리(ByteBuffersDirectory)에 한번 만든다. 색인에 걸린 시간은 시작할 때 출력한다.
+       mvn -Pjmh test-compile exec:exec -Djmh.args="StudySearchIndexBenchmark -p studies=100000"
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StudySearchIndexBenchmark {
+
+    private static final String[] SUBJECTS = {"스프링", "자바", "파이썬", "알고리즘", "데이터베이스", "리액트", "코틀린", "머신러닝",
+            "네트워크", "운영체제", "쿠버네티스", "도커", "안드로이드", "영어", "토익", "디자인", "타입스크립트", "클라우드", "보안", "게임"};
+    private static final String[] SENTENCES = {"매주 토요일 오후에 모여서 공부합니다.", "책 한 권을 정해서 함께 읽고 정리합니다.",
+            "초보자도 환영합니다.", "온라인으로 진행하며 발표를 돌아가며 맡습니다.", "문제를 풀고 서로 코드 리뷰를 합니다.",
+            "프로젝트를 하나 완성하는 것이 목표입니다.", "스터디 기간은 석 달입니다.", "출석과 과제를 꼭 지켜 주세요."};
+    private static final int TAGS = 50;
+    private static final int ZONES = 20;
+
+    @Param({"100000"})
+    private int studies;
+
+    private StudySearchIndex index;
+    private List<Zone> zones;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        zones = zones();
+        index = new StudySearchIndex(new StudySearchProperties()); //색인 디렉터리가 비어 있으므로 메모리 색인
+
+        long start = System.nanoTime();
+        for (long id = 1; id <= studies; id++) {
+            index.index(study(id), false);
+        }
+        index.refresh();
+        System.out.printf("%nindexed %d studies in %d ms%n", index.numDocs(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public StudySearchResult keyword() {
+        return index.search(subject(), null, null, 0, 9);
+    }
+
+    @Benchmark
+    public StudySearchResult keywordAndFilters() {
+        return index.search(subject(), List.of(tag()), List.of(zone()), 0, 9);
+    }
+
+    @Benchmark
+    public StudySearchResult filtersOnly() {
+        return index.search("", List.of(tag(), tag()), null, 0, 9);
+    }
+
+    @Benchmark
+    public StudySearchResult deepPage() {
+        return index.search(subject(), null, null, 10, 9);
+    }
+
+    private Study study(long id) {
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        String other = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        StringBuilder fullDescription = new StringBuilder("<p>").append(subject).append("와 ").append(other).append("을 공부합니다.</p>");
+        for (int i = 0; i < 5; i++) {
+            fullDescription.append("<p>").append(SENTENCES[random.nextInt(SENTENCES.length)]).append("</p>");
+        }
+
+        Study study = new Study();
+        study.setId(id);
+        study.setPath("study-" + id);
+        study.setTitle(subject + " 스터디 " + id);
+        study.setShortDescription(subject + " 함께 공부해요");
+        study.setFullDescription(fullDescription.toString());
+        study.setPublished(true);
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0, count = 2 + random.nextInt(2); i < count; i++) {
+            long tagId = random.nextInt(TAGS);
+            tags.add(Tag.builder().id(tagId).title("tag" + tagId).build());
+        }
+        study.setTags(tags);
+        Set<Zone> studyZones = new HashSet<>();
+        for (int i = 0, count = 1 + random.nextInt(2); i < count; i++) {
+            studyZones.add(zones.get(random.nextInt(ZONES)));
+        }
+        study.setZones(studyZones);
+        return study;
+    }
+
+    private static List<Zone> zones() {
+        Zone[] zones = new Zone[ZONES];
+        for (int i = 0; i < ZONES; i++) {
+            zones[i] = Zone.builder().id((long) i).city("City" + i).localNameOfCity("도시" + i).province("none").build();
+        }
+        return List.of(zones);
+    }
+
+    private String subject() {
+        return SUBJECTS[random.nextInt(SUBJECTS.length)];
+    }
+
+    private String tag() {
+        return "tag" + random.nextInt(TAGS);
+    }
+
+    private String zone() {
+        return zones.get(random.nextInt(ZONES)).toString();
+    }
+}
@@ -4,6 +4,9 @@ import com.studyolle.account.validator.SignUpFormValidator;
 import com.studyolle.domain.Account;
 import com.studyolle.account.form.SignUpForm;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -14,6 +17,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 /** AccountController 사용자 컨트롤러 **/
@@ -24,6 +29,7 @@ public class AccountController {
     private final SignUpFormValidator signUpFormValidator;
     private final AccountService accountService;
     private final AccountRepository accountRepository;
+    private final MailRateLimiter mailRateLimiter;
 
     /** initBinder
      목적 : 유효성 검사
@@ -50,16 +56,37 @@ public class AccountController {
      목적 : 회원가입 등록
      설명 : 회원가입 할때 signUpForm 객체에 개인정보 담는다.
      비고 : 회원가입 -> 성공시 "/" 실패시 "/로그인화면"
+           가입 확인 메일을 보내므로 메일 발송 요청 제한(IP, 이메일)에 걸리면 429로 가입창을 다시 보여준다.
+           검사를 통과했어도 그 사이 다른 요청(다른 서버)이 같은 이메일/닉네임으로 가입하면 unique 제약에 걸리므로 폼 에러로 보여준다.
+           비밀번호 해시 대기열이 가득 차면(AuthenticationServiceException) 503으로 가입창을 다시 보여준다.
      **/
     @PostMapping("/sign-up")
-    public String signUpSubmit(@Valid SignUpForm signUpForm, Errors errors) { //검증 - SignUpForm에 적용한 errors에 걸리면 회원가입창으로 다시 넘어간다.
+    public String signUpSubmit(@Valid SignUpForm signUpForm, Errors errors, Model model,
+                               HttpServletRequest request, HttpServletResponse response) { //검증 - SignUpForm에 적용한 errors에 걸리면 회원가입창으로 다시 넘어간다.
         if (errors.hasErrors()) {
             return "account/sign-up";
         }
+        if (isMailRateLimited(request, response, model, signUpForm.getEmail(), null)) {
+            return "account/sign-up";
+        }
 
         //기존에 컨트롤러에 있던 코드를 processNewAccount메서드를 생성해,
         //accountService뒤로 숨김(리펙토링)
-        Account account = accountService.processNewAccount(signUpForm);
+        Account account;
+        try {
+            account = accountService.processNewAccount(signUpForm);
+        } catch (DataIntegrityViolationException e) {
+            if (accountRepository.existsByEmail(signUpForm.getEmail())) {
+                errors.rejectValue("email", "invalid.email", new Object[]{signUpForm.getEmail()}, "이미 사용중인 이메일입니다.");
+            } else {
+                errors.rejectValue("nickname", "invalid.nickname", new Object[]{signUpForm.getNickname()}, "이미 사용중인 닉네임입니다.");
+            }
+            return "account/sign-up";
+        } catch (AuthenticationServiceException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            model.addAttribute("error", e.getMessage());
+            return "account/sign-up";
+        }
         accountService.login(account);
         //회원 가입처리
         return "redirect:/";
@@ -117,11 +144,16 @@ public class AccountController {
 
     /** resendConfirmEmail
      목적 : 이메일 체크 재전송
-     설명 : 인증 이메일이 1시간 이내이면 재전송 불가
+     설명 : 인증 이메일이 1시간 이내이면 재전송 불가. 메일 발송 요청 제한(IP, 이메일, 계정)에 걸리면 429
      호출 : 인증 이메일 다시 보내기 클릭하면 호출됨
      **/
     @GetMapping("/resend-confirm-email")
-    public String resendConfirmEmail(@CurrentAccount Account account, Model model) {
+    public String resendConfirmEmail(@CurrentAccount Account account, Model model,
+                                     HttpServletRequest request, HttpServletResponse response) {
+        if (isMailRateLimited(request, response, model, account.getEmail(), account.getId())) {
+            model.addAttribute("email", account.getEmail());
+            return "account/check-email";
+        }
         if (!account.canSendConfirmEmail()) { //보낸 이메일이 1시간이 경과되지 않다면, error 메세지
             model.addAttribute("error", "인증 이메일은 1시간에 한번만 전송할 수 있습니다.");
             model.addAttribute("email", account.getEmail());
@@ -138,9 +170,9 @@ public class AccountController {
      호출 : 프로필 버튼 클릭
      **/
     @GetMapping("/profile/{nickname}")
-    public String viewProfile(@PathVariable String nickname, Model model, Account account) {
-        Account byNickname = accountRepository.findByNickname(nickname);
-        if(nickname == null){
+    public String viewProfile(@PathVariable String nickname, Model model, @CurrentAccount Account account) {
+        Account byNickname = accountRepository.findByNickname(nickname); //프로필 화면은 태그/지역을 쓰지 않으므로 계정만 조회
+        if(byNickname == null){
             throw new IllegalArgumentException(nickname + "에 해당하는 사용자가 없습니다."); //예외를 던짐
         }
 
@@ -164,9 +196,15 @@ public class AccountController {
      설명 : 입력받은 이메일에 해당하는 계정을 찾아보고, 있는 계정이면 로그인 가능한 링크르르 이메일로 전송한다.
      설명 : 이메일 전송 후, 안내 메시지를 보여준다.
      호출 : 가입할때 사용한 이메일을 입력한다.
+     비고 : 메일 발송 요청 제한(IP, 이메일)은 계정을 조회하기 전에 확인한다. 걸리면 429
      **/
     @PostMapping("/email-login")
-    public String sendEmailLoginLink(String email, Model model, RedirectAttributes attributes) {
+    public String sendEmailLoginLink(String email, Model model, RedirectAttributes attributes,
+                                     HttpServletRequest request, HttpServletResponse response) {
+        if (isMailRateLimited(request, response, model, email, null)) {
+            return "account/email-login";
+        }
+
         Account account = accountRepository.findByEmail(email);
         if (account == null) {
             model.addAttribute("error", "유효한 이메일 주소가 아닙니다.");
@@ -201,5 +239,17 @@ public class AccountController {
         return view;
     }
 
+    /** isMailRateLimited
+     목적 : 메일 발송 요청 제한 확인
+     설명 : 제한에 걸리면 응답 상태를 429(Too Many Requests)로 바꾸고 화면에 보여줄 오류 메세지를 담는다.
+     **/
+    private boolean isMailRateLimited(HttpServletRequest request, HttpServletResponse response, Model model,
+                                      String email, Long accountId) {
+        if (mailRateLimiter.tryAcquire(request.getRemoteAddr(), email, accountId)) {
+            return false;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        model.addAttribute("error", "메일 요청이 너무 많습니다. 잠시 후에 다시 시도하세요.");
+        return true;
+    }
 }
-
@@ -0,0 +1,146 @@
+package com.studyolle.account;
+
+import com.studyolle.account.AccountRepository.AccountInterest;
+import com.studyolle.common.BitmapIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** AccountInterestIndex 관심 주제/활동 지역 -> 계정 역색인
+ 목적 : 새 스터디를 알릴 계정을 찾을 때 account_tags, account_zones를 전체 계정과 join하지 않기 위해서
+ 설명 : 태그 id, 지역 id마다 그 태그/지역을 고른 계정 id를 압축 비트맵(BitmapIndex)으로 들고 있다.
+       처음 찾을 때 DB에서 (계정 id, 태그/지역 id) 값만 읽어 만들고, 이후에는 AccountInterestsChangedEvent를 받아서 반영한다.
+ 비고 : 만드는 중에 전달된 변경은 모아두었다가 다 만든 뒤 순서대로 다시 반영한다. DB에서 이미 읽은 변경이어도 같은 변경을 두번 반영한 결과는 같다. 계정을 지워도 비트맵에는 남지만, 수신자는 id로 다시 조회하므로 알림이 가지는 않는다.
+ **/
+@Slf4j
+@Component
+public class AccountInterestIndex {
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Indexes indexes; //null이면 아직 만들지 않음
+
+    private final Object pendingLock = new Object();
+    private List<AccountInterestsChangedEvent> pending; //만드는 중에만 null이 아님. pendingLock으로 지킨다.
+
+    public AccountInterestIndex(AccountRepository accountRepository, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** findInterested
+     목적 : 스터디에 관심있을 계정 id
+     설명 : tagIds 중 하나라도 관심 주제로 고르고, zoneIds 중 하나라도 활동 지역으로 고른 계정. (태그 합집합 ∩ 지역 합집합)
+           스터디에 태그나 지역 한쪽이 없으면 다른 쪽만으로 거른다. 둘 다 없으면 아무도 없다.
+     비고 : 새 비트맵을 돌려준다. id 오름차순으로 읽을 수 있다.
+     **/
+    public Roaring64NavigableMap findInterested(Collection<Long> tagIds, Collection<Long> zoneIds) {
+        Indexes current = indexes();
+        if (tagIds.isEmpty()) {
+            return current.zones.union(zoneIds);
+        }
+        Roaring64NavigableMap interested = current.tags.union(tagIds);
+        if (!zoneIds.isEmpty()) {
+            interested.and(current.zones.union(zoneIds));
+        }
+        return interested;
+    }
+
+    /** onInterestsChanged
+     목적 : 관심 주제/활동 지역 변경 반영
+     설명 : DomainEventRelay가 전달하면 그 스레드에서 바로 반영한다. 뒤따르는 스터디 개설 알림보다 먼저 반영된다.
+     비고 : 만드는 중이면 기다리지 않고 모아두기만 한다. 만들기 전이면 이미 커밋된 변경이므로 만들 때 DB에서 함께 읽힌다.
+           계정 id를 넣고 빼기만 하므로 다시 전달되어도 결과가 같다.
+     **/
+    @EventListener
+    public void onInterestsChanged(AccountInterestsChangedEvent event) {
+        Indexes current = indexes;
+        if (current == null) {
+            synchronized (pendingLock) {
+                current = indexes;
+                if (current == null) {
+                    if (pending != null) {
+                        pending.add(event);
+                    }
+                    return;
+                }
+            }
+        }
+        apply(current, event);
+    }
+
+    private static void apply(Indexes current, AccountInterestsChangedEvent event) {
+        long accountId = event.getAccountId();
+        event.getAddedTagIds().forEach(tagId -> current.tags.add(tagId, accountId));
+        event.getRemovedTagIds().forEach(tagId -> current.tags.remove(tagId, accountId));
+        event.getAddedZoneIds().forEach(zoneId -> current.zones.add(zoneId, accountId));
+        event.getRemovedZoneIds().forEach(zoneId -> current.zones.remove(zoneId, accountId));
+    }
+
+    public long sizeInBytes() {
+        Indexes current = indexes;
+        return current == null ? 0 : current.tags.sizeInBytes() + current.zones.sizeInBytes();
+    }
+
+    private Indexes indexes() {
+        Indexes current = indexes;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (indexes == null) {
+                synchronized (pendingLock) {
+                    pending = new ArrayList<>();
+                }
+                try {
+                    Indexes loaded = load();
+                    synchronized (pendingLock) { //다 만든 뒤 모아둔 변경을 반영하고 나서야 바로 반영하기 시작한다.
+                        pending.forEach(event -> apply(loaded, event));
+                        indexes = loaded;
+                    }
+                } finally {
+                    synchronized (pendingLock) {
+                        pending = null;
+                    }
+                }
+            }
+            return indexes;
+        }
+    }
+
+    private Indexes load() {
+        long start = System.nanoTime();
+        Indexes loaded = new Indexes();
+        transactionTemplate.executeWithoutResult(status -> {
+            fill(loaded.tags, accountRepository.streamAllTagInterests());
+            fill(loaded.zones, accountRepository.streamAllZoneInterests());
+        });
+        loaded.tags.optimize();
+        loaded.zones.optimize();
+        log.info("account interest index loaded: {} tags, {} zones, {} bytes in {} ms", loaded.tags.keyCount(),
+                loaded.zones.keyCount(), loaded.tags.sizeInBytes() + loaded.zones.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private static void fill(BitmapIndex index, Stream<AccountInterest> interests) {
+        try (interests) {
+            interests.forEach(interest -> index.add(interest.getKeyId(), interest.getAccountId()));
+        }
+    }
+
+    private static class Indexes {
+
+        private final BitmapIndex tags = new BitmapIndex();
+        private final BitmapIndex zones = new BitmapIndex();
+    }
+}
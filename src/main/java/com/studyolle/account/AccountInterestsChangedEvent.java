@@ -0,0 +1,46 @@
+package com.studyolle.account;
+
+import com.studyolle.event.DomainEvent;
+import lombok.Getter;
+
+import java.util.Set;
+
+/** AccountInterestsChangedEvent 관심 주제/활동 지역 변경 이벤트
+ 목적 : 관심 주제, 활동 지역을 바꾼 요청이 관심 색인 같은 후속 처리를 기다리지 않게 하기 위해서
+ 설명 : DomainEventOutbox로 저장했다가 DomainEventRelay가 전달한다. (AccountInterestIndex)
+       추가/제거한 태그 id, 지역 id를 담는다. 한번에 하나만 바꾸므로 보통 한 곳에만 값이 있다.
+ **/
+@Getter
+public class AccountInterestsChangedEvent implements DomainEvent {
+
+    private final Long accountId;
+    private final Set<Long> addedTagIds;
+    private final Set<Long> removedTagIds;
+    private final Set<Long> addedZoneIds;
+    private final Set<Long> removedZoneIds;
+
+    public AccountInterestsChangedEvent(Long accountId, Set<Long> addedTagIds, Set<Long> removedTagIds,
+                                        Set<Long> addedZoneIds, Set<Long> removedZoneIds) {
+        this.accountId = accountId;
+        this.addedTagIds = Set.copyOf(addedTagIds);
+        this.removedTagIds = Set.copyOf(removedTagIds);
+        this.addedZoneIds = Set.copyOf(addedZoneIds);
+        this.removedZoneIds = Set.copyOf(removedZoneIds);
+    }
+
+    public static AccountInterestsChangedEvent tagAdded(Long accountId, Long tagId) {
+        return new AccountInterestsChangedEvent(accountId, Set.of(tagId), Set.of(), Set.of(), Set.of());
+    }
+
+    public static AccountInterestsChangedEvent tagRemoved(Long accountId, Long tagId) {
+        return new AccountInterestsChangedEvent(accountId, Set.of(), Set.of(tagId), Set.of(), Set.of());
+    }
+
+    public static AccountInterestsChangedEvent zoneAdded(Long accountId, Long zoneId) {
+        return new AccountInterestsChangedEvent(accountId, Set.of(), Set.of(), Set.of(zoneId), Set.of());
+    }
+
+    public static AccountInterestsChangedEvent zoneRemoved(Long accountId, Long zoneId) {
+        return new AccountInterestsChangedEvent(accountId, Set.of(), Set.of(), Set.of(), Set.of(zoneId));
+    }
+}
@@ -1,9 +1,18 @@
 package com.studyolle.account;
 
 import com.studyolle.domain.Account;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /** AccountRepository 사용자 Repository **/
 @Transactional(readOnly = true) //readOnly = true로 성능의 이점을 가져온다.
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -14,4 +23,50 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findByEmail(String email);
 
     Account findByNickname(String nickname);
+
+    Account findByEmailOrNickname(String email, String nickname); //닉네임에는 '@'를 쓸 수 없으므로 둘 중 하나만 맞는다.
+
+    @EntityGraph(attributePaths = "tags") //관심 주제 화면 - 계정과 태그를 join으로 한번에 조회
+    Optional<Account> findAccountWithTagsById(Long id);
+
+    @EntityGraph(attributePaths = "zones") //활동 지역 화면 - 계정과 지역을 join으로 한번에 조회
+    Optional<Account> findAccountWithZonesById(Long id);
+
+    //스터디 개설 알림 수신자 - AccountInterestIndex로 찾은 계정 중 웹/이메일 알림을 켠 계정만 값으로 읽는다.
+    @Query("select a.id as id, a.email as email, a.nickname as nickname, " +
+            "a.studyCreatedByWeb as studyCreatedByWeb, a.studyCreatedByEmail as studyCreatedByEmail " +
+            "from Account a where a.id in :ids and (a.studyCreatedByWeb = true or a.studyCreatedByEmail = true) " +
+            "order by a.id")
+    List<StudyCreatedRecipient> findStudyCreatedRecipientsByIdIn(Collection<Long> ids);
+
+    interface StudyCreatedRecipient {
+        Long getId();
+        String getEmail();
+        String getNickname();
+        boolean isStudyCreatedByWeb();
+        boolean isStudyCreatedByEmail();
+    }
+
+    @Query("select a.id as accountId, t.id as keyId from Account a join a.tags t") //관심 주제 색인(AccountInterestIndex)을 만들 때 값만 조회
+    Stream<AccountInterest> streamAllTagInterests();
+
+    @Query("select a.id as accountId, z.id as keyId from Account a join a.zones z")
+    Stream<AccountInterest> streamAllZoneInterests();
+
+    interface AccountInterest {
+        Long getAccountId();
+        Long getKeyId(); //태그 id 또는 지역 id
+    }
+
+    @Query("select a.email from Account a") //중복 확인 색인(AvailabilityIndex)을 만들 때 엔티티 대신 값만 조회
+    Stream<String> streamAllEmails();
+
+    @Query("select a.nickname from Account a")
+    Stream<String> streamAllNicknames();
+
+    //가입 확인 메일을 보낸다고 표시한다. 이미 보냈거나 없는 계정이면 0
+    @Transactional
+    @Modifying
+    @Query("update Account a set a.signUpMailSentAt = :now where a.id = :id and a.signUpMailSentAt is null")
+    int markSignUpMailSent(Long id, LocalDateTime now);
 }
@@ -1,17 +1,23 @@
 package com.studyolle.account;
 
-import com.studyolle.config.AppProperties;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Tag;
 import com.studyolle.account.form.SignUpForm;
+import com.studyolle.availability.AvailabilityIndex;
 import com.studyolle.domain.Zone;
+import com.studyolle.event.DomainEventOutbox;
+import com.studyolle.image.ImageService;
+import com.studyolle.image.ProfileImageProcessor;
 import com.studyolle.mail.EmailMessage;
 import com.studyolle.mail.EmailService;
+import com.studyolle.mail.SimpleLinkMailRenderer;
 import com.studyolle.settings.form.Notifications;
 import com.studyolle.settings.form.Profile;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -19,18 +25,20 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -47,26 +55,32 @@ processNewAccount메서드는 가입이 된 회원의 이메일 토큰을 생성
 @Slf4j
 @Transactional
 @RequiredArgsConstructor
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
     //컨트롤러의 코드를 서비스에 넣고, 다시 한번 테스트 돌려 잘되는지 확인해야한다.
 
     private final AccountRepository accountRepository;
+    private final DomainEventOutbox domainEventOutbox;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
-    private final TemplateEngine templateEngine; //템플릿 엔진의 핵심 구성 요소로, 템플릿 파일을 처리하고 렌더링하는 역할을 한다.
-    private final AppProperties appProperties; //context.setVariable("host", appProperties.getHost()); 사용하기 위해서
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer; //mail/simple-link 템플릿을 미리 나눠두고 변수만 채워 메일 본문을 만든다.
+    private final ImageService imageService;
+    private final ProfileImageProcessor profileImageProcessor;
+    private final UserDetailsCache userDetailsCache;
+    private final AvailabilityIndex availabilityIndex;
 
     /** processNewAccount
      목적 : 가입 확인 이메일 전송
      설명 : 회원가입시 작성했던 이메일주소로 다시 한번 확인을 하기 위한 목적.
      비고 : 이메일 토큰 생성
      **/
+    @Timed(value = "studyolle.account.sign-up", description = "회원 가입 처리 시간", histogram = true)
     @Transactional
     public Account processNewAccount(SignUpForm signUpForm) {
         Account newAccount = saveNewAccount(signUpForm); //signUpForm(등록한회원정보)를 가지고 saveNewAccount에 넣어줌
         newAccount.generateEmailCheckToken(); //토큰생성
-        sendSignUpConfirmEmail(newAccount); //가입확인 이메일 전송
+        userDetailsCache.evict(newAccount); //같은 이메일/닉네임으로 담겨 있던 예전 계정이 있으면 지운다.
+        domainEventOutbox.publish(new AccountSignedUpEvent(newAccount.getId())); //가입확인 이메일은 커밋된 뒤 SignUpMailListener가 보낸다.
         return newAccount;
     }
 
@@ -79,23 +93,21 @@ public class AccountService implements UserDetailsService {
         signUpForm.setPassword(passwordEncoder.encode(signUpForm.getPassword()));
         Account account = modelMapper.map(signUpForm, Account.class);
         account.generateEmailCheckToken();
+        availabilityIndex.addEmail(account.getEmail()); //커밋 전에 넣어서 다른 요청이 사용할 수 있다고 판단하지 않게 한다.
+        availabilityIndex.addNickname(account.getNickname());
         return accountRepository.save(account);
     }
 
     /** sendSignUpConfirmEmail
      목적 : 인증 메일 커스텀
      설명 : 인증 메일 형식을 타임리프로 뷰 페이지를 통해 html로 구현
-     비고 : TemplateEngine, AppProperties 클래스 사용
+     비고 : SimpleLinkMailRenderer 클래스 사용
      **/
     public void sendSignUpConfirmEmail(Account newAccount) {
-        Context context = new Context(); //Map 클래스와 같다고 생각하면 된다. (templateEngine)
-        context.setVariable("link", "/check-email-token?token=" + newAccount.getEmailCheckToken() +
-                "&email=" + newAccount.getEmail());
-        context.setVariable("nickname", newAccount.getNickname());
-        context.setVariable("linkName", "이메일 인증하기");
-        context.setVariable("message", "스터디올래 서비스를 사용하려면 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost()); //app.host=http://localhost:8080 (application.properties파일에 정의)
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = simpleLinkMailRenderer.render(newAccount.getNickname(),
+                "스터디올래 서비스를 사용하려면 링크를 클릭하세요.",
+                "/check-email-token?token=" + newAccount.getEmailCheckToken() + "&email=" + newAccount.getEmail(),
+                "이메일 인증하기");
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(newAccount.getEmail())
@@ -108,22 +120,22 @@ public class AccountService implements UserDetailsService {
 
     /** loadUserByUsername
      목적 : 회원유무검색
-     설명 : 회원저장소에서 id,닉네임가 null이면 예외처리하고, 있으면 UserAccount반환
+     설명 : 회원저장소에서 이메일 또는 닉네임으로 한번에 찾고, 없으면 예외처리하고, 있으면 UserAccount반환
      비고 : UserDetailsService implements 할때 오버라이드 되는 메서드
+           폼 로그인과 remember-me 자동 로그인마다 호출되므로 UserDetailsCache에 담아둔다.
      **/
+    @Timed(value = "studyolle.account.load-user", description = "로그인 사용자 조회 시간 (폼 로그인, remember-me)", histogram = true)
     @Transactional(readOnly = true) //성능에 유리하므로 사용
     @Override
     public UserDetails loadUserByUsername(String emailOrNickname) throws UsernameNotFoundException {
-        Account account = accountRepository.findByEmail(emailOrNickname);
-        if (account == null){
-            account = accountRepository.findByNickname(emailOrNickname);
-        }
+        UserAccount userAccount = userDetailsCache.get(emailOrNickname,
+                key -> accountRepository.findByEmailOrNickname(key, key));
 
-        if (account == null){
+        if (userAccount == null){
             throw new UsernameNotFoundException(emailOrNickname);
         }
 
-        return new UserAccount(account);
+        return userAccount;
     }
 
     /** login
@@ -131,6 +143,7 @@ public class AccountService implements UserDetailsService {
      설명 : account객체, 비밀번호, 권한
      비고 :
      **/
+    @Timed(value = "studyolle.account.login", description = "로그인 처리 시간 (가입/이메일 인증/로그인 링크)", histogram = true)
     public void login(Account account) {
         UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
                 new UserAccount(account),
@@ -146,6 +159,7 @@ public class AccountService implements UserDetailsService {
      **/
     public void completeSignUp(Account account) {
         account.completeSignUp();
+        userDetailsCache.evict(account);
         login(account);
     }
 
@@ -155,7 +169,19 @@ public class AccountService implements UserDetailsService {
      비고 :
      **/
     public void updateProfile(Account account, Profile profile) {
+        //화면에서 올린 이미지(data URL)는 Image 테이블에 저장하고, account에는 이미지 주소만 남긴다.
+        String currentImage = account.getProfileImage();
+        String profileImage = imageService.replace(currentImage, profile.getProfileImage());
         modelMapper.map(profile, account); //profile의 값들이 account로 들어간다.
+        account.setProfileImage(profileImage);
+        userDetailsCache.evict(account);
+        if (!Objects.equals(currentImage, profileImage)) {
+            imageService.delete(account.getProfileImageThumbnail());
+            account.setProfileImageThumbnail(null);
+            if (profileImage != null) {
+                resizeAfterCommit(account.getId(), profileImage);
+            }
+        }
 //        account.setUrl(profile.getUrl());
 //        account.setOccupation(profile.getOccupation());
 //        account.setLocation(profile.getLocation());
@@ -175,6 +201,15 @@ public class AccountService implements UserDetailsService {
         accountRepository.save(account);
     }
 
+    private void resizeAfterCommit(Long accountId, String profileImage) { //커밋된 뒤에 이미지 변환 스레드에서 크기를 줄인다.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                profileImageProcessor.process(accountId, profileImage);
+            }
+        });
+    }
+
     /** updatePassword
      목적 : 비밀번호 수정
      설명 : 새 비밀번호 encode 후에 저장
@@ -183,6 +218,20 @@ public class AccountService implements UserDetailsService {
     public void updatePassword(Account account, String newPassword){
         account.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.save(account); //merge해서 영속성 컨텍스트에 병합
+        userDetailsCache.evict(account);
+    }
+
+    /** updatePassword
+     목적 : 비밀번호 해시 갱신
+     설명 : 로그인에 성공했는데 저장된 해시의 방식/cost가 설정과 다르면 스프링 시큐리티가 새로 해시한 값(newPassword)으로 호출한다.
+     비고 : UserDetailsPasswordService implements 할때 오버라이드 되는 메서드
+     **/
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Account account = accountRepository.findById(((UserAccount) user).getId()).orElseThrow();
+        account.setPassword(newPassword); //이미 해시된 값
+        userDetailsCache.evict(account);
+        return new UserAccount(account);
     }
 
     /** updateNotifications
@@ -204,28 +253,33 @@ public class AccountService implements UserDetailsService {
     /** updateNickname
      목적 : 닉네임 수정
      설명 : 닉네임 업데이트
-     비고 :
+     비고 : 그 사이 다른 요청이 같은 닉네임을 쓰면 unique 제약에 걸린다. 바로 flush해서 로그인 정보를 바꾸기 전에
+           DataIntegrityViolationException을 던지고, 세션의 계정 닉네임은 원래대로 돌려놓는다.
      **/
     public void updateNickname(Account account, String nickname) {
+        String oldNickname = account.getNickname();
         account.setNickname(nickname);
-        accountRepository.save(account);
+        availabilityIndex.addNickname(nickname);
+        try {
+            accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            account.setNickname(oldNickname);
+            throw e;
+        }
+        userDetailsCache.evict(account);
         login(account); //로그인을 다시 해줌 -- 다시해줘야 우측 계정 클릭할때 바뀐 닉네임으로 볼수있다.
     }
 
     /** sendLoginLink
      목적 : 패스워드 분실 메일 링크
      설명 : 인증 메일 형식을 타임리프로 뷰 페이지를 통해 html로 구현
-     비고 : TemplateEngine, AppProperties 클래스 사용
+     비고 : SimpleLinkMailRenderer 클래스 사용
      **/
     public void sendLoginLink(Account account) {
-        Context context = new Context();
-        context.setVariable("link", "/login-by-email?token=" + account.getEmailCheckToken() +
-                "&email=" + account.getEmail());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "스터디올래 로그인하기");
-        context.setVariable("message", "로그인 하려면 아래 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = simpleLinkMailRenderer.render(account.getNickname(),
+                "로그인 하려면 아래 링크를 클릭하세요.",
+                "/login-by-email?token=" + account.getEmailCheckToken() + "&email=" + account.getEmail(),
+                "스터디올래 로그인하기");
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(account.getEmail())
@@ -240,9 +294,10 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public void addTag(Account account, Tag tag) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithTagsById(account.getId()); //태그까지 한번에 읽는다. (findById 후 getTags()로 한번 더 조회하지 않도록)
         byId.ifPresent(a -> a.getTags().add(tag)); //Optional 객체에 값이 존재하는지 확인. 값이 존재하면 true, 존재하지 않으면 false를 반환.
         //ifPresent(a -> a.getTags().add(tag)): 값이 존재하는 경우에만 a.getTags().add(tag)을 수행.
+        byId.ifPresent(a -> domainEventOutbox.publish(AccountInterestsChangedEvent.tagAdded(a.getId(), tag.getId()))); //커밋된 뒤에 관심 주제 색인에 반영
 
         /*
         Q. Optional이란?
@@ -258,7 +313,7 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public Set<Tag> getTags(Account account){
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithTagsById(account.getId());
         return byId.orElseThrow().getTags();
     }
 
@@ -267,8 +322,9 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public void removeTag(Account account, Tag tag) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithTagsById(account.getId());
         byId.ifPresent(a -> a.getTags().remove(tag));
+        byId.ifPresent(a -> domainEventOutbox.publish(AccountInterestsChangedEvent.tagRemoved(a.getId(), tag.getId())));
     }
 
     /** getZones
@@ -276,7 +332,7 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public Set<Zone> getZones(Account account) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithZonesById(account.getId()); //지역까지 한번에 읽는다.
         return byId.orElseThrow().getZones();
     }
 
@@ -285,8 +341,9 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public void addZone(Account account, Zone zone) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithZonesById(account.getId());
         byId.ifPresent(a -> a.getZones().add(zone));
+        byId.ifPresent(a -> domainEventOutbox.publish(AccountInterestsChangedEvent.zoneAdded(a.getId(), zone.getId())));
     }
 
     /** removeZone
@@ -294,7 +351,8 @@ public class AccountService implements UserDetailsService {
      설명 :
      **/
     public void removeZone(Account account, Zone zone) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
+        Optional<Account> byId = accountRepository.findAccountWithZonesById(account.getId());
         byId.ifPresent(a -> a.getZones().remove(zone));
+        byId.ifPresent(a -> domainEventOutbox.publish(AccountInterestsChangedEvent.zoneRemoved(a.getId(), zone.getId())));
     }
 }
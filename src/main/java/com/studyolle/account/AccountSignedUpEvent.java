@@ -0,0 +1,19 @@
+package com.studyolle.account;
+
+import com.studyolle.event.DomainEvent;
+import lombok.Getter;
+
+/** AccountSignedUpEvent 회원 가입 이벤트
+ 목적 : 가입 요청이 가입 확인 메일을 만들고 보내는 것을 기다리지 않게 하기 위해서
+ 설명 : DomainEventOutbox로 저장했다가 DomainEventRelay가 전달한다. (SignUpMailListener)
+ 비고 : 인증 토큰은 이벤트에 담지 않고 받는 쪽에서 계정을 읽는다.
+ **/
+@Getter
+public class AccountSignedUpEvent implements DomainEvent {
+
+    private final Long accountId;
+
+    public AccountSignedUpEvent(Long accountId) {
+        this.accountId = accountId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.studyolle.account;
+
+import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/** CurrentAccountArgumentResolver @CurrentAccount 처리
+ 목적 : 세션에는 작은 UserAccount만 두고, Account 엔티티는 필요한 요청에서만 조회하기 위해서
+ 설명 : 로그인한 사용자의 UserAccount id로 Account를 조회해서 컨트롤러 파라미터에 넣는다.
+       로그인하지 않았거나(anonymousUser) 계정이 없어졌으면 null
+ 비고 : OSIV가 켜져 있으므로 같은 요청 안에서는 영속성 컨텍스트가 같은 Account를 돌려준다.
+ **/
+@Component
+@RequiredArgsConstructor
+public class CurrentAccountArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final AccountRepository accountRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentAccount.class) && Account.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserAccount)) {
+            return null;
+        }
+
+        UserAccount userAccount = (UserAccount) authentication.getPrincipal();
+        return accountRepository.findById(userAccount.getId()).orElse(null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.studyolle.account;
+
+import com.studyolle.common.TokenBucketRateLimiter;
+import com.studyolle.config.MailRateLimitProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** MailRateLimiter 메일 발송 요청 제한
+ 목적 : 가입, 인증 메일 재전송, 이메일 로그인 요청을 반복해서 메일 대기열과 DB를 채우지 못하게 하기 위해서
+ 설명 : 요청한 IP, 받는 이메일, 계정마다 토큰 버킷(TokenBucketRateLimiter)으로 센다. 하나라도 토큰이 없으면 어느 버킷의 토큰도 쓰지 않고 거절한다.
+       (남의 이메일로 보낸 요청이 거절되면서 내 IP의 토큰까지 써버리지 않도록)
+       이메일/계정은 같은 제한(recipient-*)을 쓰고, IP는 여러 사람이 같이 쓸 수 있으므로 더 넉넉한 제한(ip-*)을 쓴다.
+ 비고 : 계정을 읽기 전에 확인하므로 거절된 요청은 DB에 가지 않는다. Account.canSendConfirmEmail의 1시간 제한은 그대로 둔다.
+ **/
+@Component
+public class MailRateLimiter {
+
+    private final TokenBucketRateLimiter recipientLimiter;
+    private final TokenBucketRateLimiter ipLimiter;
+
+    private final AtomicLong ipRejectedCount = new AtomicLong();
+    private final AtomicLong emailRejectedCount = new AtomicLong();
+    private final AtomicLong accountRejectedCount = new AtomicLong();
+
+    public MailRateLimiter(MailRateLimitProperties properties) {
+        this.recipientLimiter = new TokenBucketRateLimiter(properties.getRecipientCapacity(), properties.getRecipientPeriod(),
+                properties.getStripes(), properties.getMaximumKeys());
+        this.ipLimiter = new TokenBucketRateLimiter(properties.getIpCapacity(), properties.getIpPeriod(),
+                properties.getStripes(), properties.getMaximumKeys());
+    }
+
+    /** tryAcquire
+     목적 : 메일을 보내도 되는지 확인
+     설명 : IP, 이메일, 계정 버킷을 모두 확인한 뒤 전부 토큰이 있을 때만 하나씩 쓴다. email, accountId는 모르면 null
+     비고 : 거절하면 IP -> 이메일 -> 계정 순서로 처음 토큰이 없던 제한의 거절 수를 센다.
+     **/
+    public boolean tryAcquire(String clientIp, String email, Long accountId) {
+        List<TokenBucketRateLimiter> limiters = new ArrayList<>(3);
+        List<String> keys = new ArrayList<>(3);
+        List<AtomicLong> rejectedCounts = new ArrayList<>(3);
+        if (clientIp != null) {
+            limiters.add(ipLimiter);
+            keys.add("ip:" + clientIp);
+            rejectedCounts.add(ipRejectedCount);
+        }
+        if (email != null) {
+            limiters.add(recipientLimiter);
+            keys.add("email:" + email.toLowerCase(Locale.ROOT));
+            rejectedCounts.add(emailRejectedCount);
+        }
+        if (accountId != null) {
+            limiters.add(recipientLimiter);
+            keys.add("account:" + accountId);
+            rejectedCounts.add(accountRejectedCount);
+        }
+
+        int rejected = TokenBucketRateLimiter.tryAcquireAll(limiters, keys);
+        if (rejected >= 0) {
+            rejectedCounts.get(rejected).incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getIpRejectedCount() {
+        return ipRejectedCount.get();
+    }
+
+    public long getEmailRejectedCount() {
+        return emailRejectedCount.get();
+    }
+
+    public long getAccountRejectedCount() {
+        return accountRejectedCount.get();
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyolle.account;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/** SignUpMailListener 가입 확인 메일
+ 목적 : 가입 요청이 메일 본문을 만들고 대기열에 넣는 것까지 기다리지 않게 하기 위해서
+ 설명 : DomainEventRelay가 전달한 AccountSignedUpEvent를 받아 계정을 읽고 가입 확인 메일을 보낸다.
+ 비고 : 이벤트는 다시 전달될 수 있으므로 보낸다고 먼저 표시하고(signUpMailSentAt) 표시한 경우에만 보낸다.
+       표시와 메일은 같은 새 트랜잭션이라 커밋된 뒤에 메일 대기열에 들어간다. 그 뒤에 메일이 사라지면 인증 메일 재전송으로 다시 받는다.
+ **/
+@Component
+public class SignUpMailListener {
+
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SignUpMailListener(AccountRepository accountRepository, AccountService accountService,
+                              PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener
+    public void onSignedUp(AccountSignedUpEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (accountRepository.markSignUpMailSent(event.getAccountId(), LocalDateTime.now()) == 0) {
+                return; //이미 보냈거나 그 사이 지워진 계정
+            }
+            accountRepository.findById(event.getAccountId()).ifPresent(accountService::sendSignUpConfirmEmail);
+        });
+    }
+}
@@ -7,11 +7,24 @@ import org.springframework.security.core.userdetails.User;
 
 import java.util.List;
 
-/** UserAccount 사용자 인터페이스 **/
+/** UserAccount 사용자 인터페이스
+ 목적 : 세션에 들어가는 로그인 사용자 정보
+ 설명 : Account 엔티티 전체(태그, 지역, 알림 설정 등) 대신 화면에 필요한 최소한의 값만 복사해서 들고 있는다.
+ 비고 : 바뀌지 않는 값이므로 계정 정보가 바뀌면 AccountService.login으로 다시 만든다.
+       컨트롤러에서 Account가 필요하면 @CurrentAccount가 요청마다 id로 조회해 준다.
+ **/
 @Getter
 public class UserAccount extends User {
 
-    private Account account;
+    private final Long id;
+
+    private final String nickname;
+
+    private final String email;
+
+    private final boolean emailVerified;
+
+    private final String avatar; //상단 메뉴에 보여줄 이미지 주소. 없으면 null
 
     /** UserAccount
      목적 : 유저 정보
@@ -20,6 +33,27 @@ public class UserAccount extends User {
      **/
     public UserAccount(Account account) {
         super(account.getNickname(), account.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
-        this.account = account;
+        this.id = account.getId();
+        this.nickname = account.getNickname();
+        this.email = account.getEmail();
+        this.emailVerified = account.isEmailVerified();
+        this.avatar = account.getProfileImageThumbnail() != null ? account.getProfileImageThumbnail() : account.getProfileImage();
+    }
+
+    /** UserAccount
+     목적 : 세션 복원, 캐시
+     설명 : 세션 저장소나 UserDetailsCache에 저장한 값으로 다시 만든다. 세션에는 비밀번호를 저장하지 않으므로 password가 null이다.
+     **/
+    public UserAccount(Long id, String nickname, String password, String email, boolean emailVerified, String avatar,
+                       List<SimpleGrantedAuthority> authorities) {
+        super(nickname, password == null ? "" : password, authorities);
+        if (password == null) {
+            eraseCredentials();
+        }
+        this.id = id;
+        this.nickname = nickname;
+        this.email = email;
+        this.emailVerified = emailVerified;
+        this.avatar = avatar;
     }
 }
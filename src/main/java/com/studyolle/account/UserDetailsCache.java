@@ -0,0 +1,147 @@
+package com.studyolle.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studyolle.config.UserDetailsCacheProperties;
+import com.studyolle.domain.Account;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/** UserDetailsCache 로그인 사용자 캐시
+ 목적 : 폼 로그인, remember-me 자동 로그인마다 계정을 DB에서 다시 읽지 않기 위해서
+ 설명 : 이메일 또는 닉네임으로 찾은 계정의 로그인에 필요한 값만 크기/시간 제한이 있는 캐시(Caffeine)에 담아둔다.
+ 비고 : 스프링 시큐리티가 인증 후 UserDetails의 비밀번호를 지우므로(eraseCredentials) 꺼낼 때마다 새 UserAccount를 만든다.
+       닉네임, 비밀번호, 프로필, 이메일 인증이 바뀌면 AccountService가 evict를 호출한다.
+       한 계정이 이메일, 닉네임(예전 닉네임 포함) 여러 키로 담기므로 계정 id -> 키 목록을 따로 들고 있어서 전체 항목을 훑지 않고 지운다.
+ **/
+@Component
+public class UserDetailsCache {
+
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Cache<String, Entry> cache;
+    private final Map<Long, Set<String>> keysById = new ConcurrentHashMap<>(); //키 목록(Set)은 compute 안에서만 바꾼다.
+
+    public UserDetailsCache(UserDetailsCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .evictionListener((String key, Entry entry, RemovalCause cause) -> unindex(entry.id, key)) //크기, 시간 제한으로 빠진 항목
+                .recordStats()
+                .build();
+    }
+
+    /** get
+     목적 : 캐시 조회
+     설명 : 없으면 loader로 읽어서 담는다. loader가 null을 반환하면(없는 계정) 담지 않고 null을 반환
+     **/
+    public UserAccount get(String emailOrNickname, Function<String, Account> loader) {
+        Entry entry = cache.get(emailOrNickname, key -> {
+            Account account = loader.apply(key);
+            if (account == null) {
+                return null;
+            }
+            Entry loaded = new Entry(account);
+            index(loaded.id, key);
+            return loaded;
+        });
+        return entry == null ? null : entry.toUserAccount();
+    }
+
+    /** evict
+     목적 : 캐시 비우기
+     설명 : 이메일, 예전 닉네임 어느 쪽으로 담겼든 해당 계정 항목을 모두 지운다. 같은 이메일/닉네임으로 담긴 다른(삭제된) 계정 항목도 지운다.
+           트랜잭션 안이면 커밋 전에 다른 요청이 예전 값을 다시 담을 수 있으므로 트랜잭션이 끝난 뒤에 한번 더 지운다.
+     **/
+    public void evict(Account account) {
+        Long id = account.getId();
+        String email = account.getEmail();
+        String nickname = account.getNickname();
+        remove(id, email, nickname);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id, email, nickname);
+                }
+            });
+        }
+    }
+
+    private void remove(Long id, String email, String nickname) {
+        Set<String> keys = keysById.remove(id);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+        removeKey(email);
+        removeKey(nickname);
+    }
+
+    private void removeKey(String key) {
+        if (key == null) {
+            return;
+        }
+        Entry removed = cache.asMap().remove(key);
+        if (removed != null) {
+            unindex(removed.id, key);
+        }
+    }
+
+    private void index(Long id, String key) {
+        keysById.compute(id, (k, keys) -> {
+            Set<String> indexed = keys == null ? new HashSet<>() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    private void unindex(Long id, String key) {
+        keysById.computeIfPresent(id, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private static class Entry {
+
+        private final Long id;
+        private final String nickname;
+        private final String password;
+        private final String email;
+        private final boolean emailVerified;
+        private final String avatar;
+
+        private Entry(Account account) {
+            UserAccount userAccount = new UserAccount(account);
+            this.id = userAccount.getId();
+            this.nickname = userAccount.getNickname();
+            this.password = account.getPassword();
+            this.email = userAccount.getEmail();
+            this.emailVerified = userAccount.isEmailVerified();
+            this.avatar = userAccount.getAvatar();
+        }
+
+        private UserAccount toUserAccount() {
+            return new UserAccount(id, nickname, password, email, emailVerified, avatar, AUTHORITIES);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.studyolle.account.validator;
 
-import com.studyolle.account.AccountRepository;
+import com.studyolle.availability.AvailabilityIndex;
 import com.studyolle.account.form.SignUpForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,7 +17,7 @@ import org.springframework.validation.Validator;
  */
 public class SignUpFormValidator implements Validator {
 
-    private final AccountRepository accountRepository;
+    private final AvailabilityIndex availabilityIndex; //사용하지 않는 값이 확실하면 DB를 조회하지 않는다.
 
     /** supports
      목적 : 회원가입 유효성 검사 할 클래스 선택
@@ -38,11 +38,11 @@ public class SignUpFormValidator implements Validator {
     @Override
     public void validate(Object object, Errors errors) {
         SignUpForm signUpForm = (SignUpForm) object;
-        if(accountRepository.existsByEmail(signUpForm.getEmail())){
+        if(!availabilityIndex.isEmailAvailable(signUpForm.getEmail())){
             errors.rejectValue("email", "invalid.email", new Object[]{signUpForm.getEmail()}, "이미 사용중인 이메일입니다.");
         }
 
-        if (accountRepository.existsByNickname(signUpForm.getNickname())){
+        if (!availabilityIndex.isNicknameAvailable(signUpForm.getNickname())){
             errors.rejectValue("nickname", "invalid.nickname", new Object[]{signUpForm.getEmail()},"이미 사용중인 닉네임입니다.");
         }
     }
@@ -0,0 +1,60 @@
+package com.studyolle.availability;
+
+import com.studyolle.common.TokenBucketRateLimiter;
+import com.studyolle.config.AvailabilityProperties;
+import com.studyolle.config.MailRateLimitProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+@Controller
+public class AvailabilityController {
+
+    private final AvailabilityIndex availabilityIndex;
+    private final TokenBucketRateLimiter emailIpLimiter; //이메일 확인 IP 제한
+
+    public AvailabilityController(AvailabilityIndex availabilityIndex, AvailabilityProperties properties,
+                                  MailRateLimitProperties mailRateLimitProperties) {
+        this.availabilityIndex = availabilityIndex;
+        this.emailIpLimiter = new TokenBucketRateLimiter(properties.getEmailIpCapacity(), properties.getEmailIpPeriod(),
+                mailRateLimitProperties.getStripes(), mailRateLimitProperties.getMaximumKeys()); //잠금 수, 기억하는 키 수는 메일 IP 제한과 같게
+    }
+
+    /** checkAvailability
+     목적 : 폼 입력 중 사용할 수 있는 값인지 바로 알려주기 (json)
+     설명 : type은 email, nickname, study-path. 응답은 {"available": true/false}
+     비고 : 대부분은 DB를 조회하지 않는다. (AvailabilityIndex) 최종 확인은 폼을 제출할 때 Validator가 한다.
+           email은 로그인 없이 가입 여부를 알 수 있으므로 IP마다 제한하고(app.availability.email-ip-*), 넘으면 429
+     호출 : GET /availability/nickname?value=keesun
+     **/
+    @GetMapping("/availability/{type}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(@PathVariable String type, @RequestParam String value,
+                                                                  HttpServletRequest request) {
+        boolean available;
+        switch (type) {
+            case "email":
+                if (!emailIpLimiter.tryAcquire("ip:" + request.getRemoteAddr())) {
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+                }
+                available = availabilityIndex.isEmailAvailable(value);
+                break;
+            case "nickname":
+                available = availabilityIndex.isNicknameAvailable(value);
+                break;
+            case "study-path":
+                available = availabilityIndex.isStudyPathAvailable(value);
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("available", available));
+    }
+}
@@ -0,0 +1,202 @@
+package com.studyolle.availability;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.common.BloomFilter;
+import com.studyolle.config.AvailabilityProperties;
+import com.studyolle.study.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/** AvailabilityIndex 이메일/닉네임/스터디 경로 중복 확인 색인
+ 목적 : 가입, 닉네임 변경, 스터디 개설 폼을 검사할 때 대부분인 "사용하지 않는 값"은 DB를 조회하지 않기 위해서
+ 설명 : 사용중인 값을 종류별 블룸 필터에 넣어둔다. 필터에 없으면 바로 사용할 수 있다고 답하고, 있을 수도 있으면 DB로 확인한다.
+       처음 확인할 때 DB에서 값만 읽어 필터를 만들고, 이후에는 AccountService, StudyService가 저장하기 전에 add를 호출한다.
+ 비고 : 커밋 전에 넣으므로 롤백되거나 닉네임을 바꾼 예전 값은 오탐으로 남을 뿐 틀린 답을 주지 않는다.
+       넣은 개수가 expected-insertions를 넘으면 다음 확인 때 더 크게 다시 만든다.
+       필터가 없는 동안(만들기 전, 다시 만드는 중) 넣은 값은 커밋 전이라 DB에서 읽히지 않을 수 있으므로 모아두었다가 다 만든 뒤 넣는다.
+       필터는 서버마다 따로 있어 다른 서버에서 방금 저장한 값은 모를 수 있다. 이때는 email, nickname, path의 unique 제약이 막고,
+       AccountController, StudyController가 DataIntegrityViolationException을 폼 에러로 바꾼다.
+ **/
+@Slf4j
+@Component
+public class AvailabilityIndex {
+
+    private final AccountRepository accountRepository;
+    private final StudyRepository studyRepository;
+    private final AvailabilityProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Filters filters; //null이면 아직 만들지 않았거나 다시 만들어야 함
+
+    private final Object pendingLock = new Object();
+    private final List<PendingAdd> pending = new ArrayList<>(); //필터가 없는 동안 넣은 값. pendingLock으로 지킨다.
+
+    private final AtomicLong checkCount = new AtomicLong();
+    private final AtomicLong databaseCheckCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    public AvailabilityIndex(AccountRepository accountRepository, StudyRepository studyRepository,
+                             AvailabilityProperties properties, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.studyRepository = studyRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(email, filters().emails, accountRepository::existsByEmail);
+    }
+
+    public boolean isNicknameAvailable(String nickname) {
+        return isAvailable(nickname, filters().nicknames, accountRepository::existsByNickname);
+    }
+
+    public boolean isStudyPathAvailable(String path) {
+        return isAvailable(path, filters().paths, studyRepository::existsByPath);
+    }
+
+    public void addEmail(String email) {
+        add(email, current -> current.emails);
+    }
+
+    public void addNickname(String nickname) {
+        add(nickname, current -> current.nicknames);
+    }
+
+    public void addStudyPath(String path) {
+        add(path, current -> current.paths);
+    }
+
+    private boolean isAvailable(String value, BloomFilter filter, Predicate<String> existsInDatabase) {
+        checkCount.incrementAndGet();
+        if (value == null || !filter.mightContain(value)) {
+            return true; //확실히 사용하지 않는 값
+        }
+        databaseCheckCount.incrementAndGet();
+        boolean available = !existsInDatabase.test(value);
+        if (available) {
+            falsePositiveCount.incrementAndGet();
+        }
+        return available;
+    }
+
+    private void add(String value, Function<Filters, BloomFilter> filter) {
+        if (value == null) {
+            return;
+        }
+        Filters current = filters;
+        if (current == null) {
+            synchronized (pendingLock) {
+                current = filters;
+                if (current == null) { //필터를 다 만든 뒤에 넣는다.
+                    pending.add(new PendingAdd(value, filter));
+                    return;
+                }
+            }
+        }
+        put(current, value, filter);
+    }
+
+    private void put(Filters current, String value, Function<Filters, BloomFilter> filter) {
+        filter.apply(current).put(value);
+        if (current.added.incrementAndGet() > current.capacity) {
+            synchronized (pendingLock) {
+                if (filters == current) {
+                    filters = null; //예상보다 많이 들어가 오탐이 늘었으므로 다음 확인 때 다시 만든다.
+                }
+            }
+        }
+    }
+
+    private Filters filters() {
+        Filters current = filters;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (filters == null) {
+                Filters loaded = load();
+                synchronized (pendingLock) { //모아둔 값을 넣은 뒤에야 바로 넣기 시작한다.
+                    pending.forEach(add -> add.filter.apply(loaded).put(add.value));
+                    loaded.added.addAndGet(pending.size());
+                    pending.clear();
+                    filters = loaded;
+                }
+            }
+            return filters;
+        }
+    }
+
+    private Filters load() {
+        long start = System.nanoTime();
+        long capacity = Math.max(properties.getExpectedInsertions(), 2 * Math.max(accountRepository.count(), studyRepository.count()));
+        Filters loaded = new Filters(capacity, properties.getFalsePositiveRate());
+        transactionTemplate.executeWithoutResult(status -> {
+            fill(loaded.emails, accountRepository.streamAllEmails());
+            fill(loaded.nicknames, accountRepository.streamAllNicknames());
+            fill(loaded.paths, studyRepository.streamAllPaths());
+        });
+        log.info("availability index loaded: {} bits x 3, capacity {} in {} ms",
+                loaded.emails.getBitCount(), capacity, (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private static void fill(BloomFilter filter, Stream<String> values) {
+        try (values) {
+            values.forEach(value -> {
+                if (value != null) {
+                    filter.put(value);
+                }
+            });
+        }
+    }
+
+    public long getCheckCount() {
+        return checkCount.get();
+    }
+
+    public long getDatabaseCheckCount() {
+        return databaseCheckCount.get();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.get();
+    }
+
+    private static class PendingAdd {
+
+        private final String value;
+        private final Function<Filters, BloomFilter> filter;
+
+        private PendingAdd(String value, Function<Filters, BloomFilter> filter) {
+            this.value = value;
+            this.filter = filter;
+        }
+    }
+
+    private static class Filters {
+
+        private final BloomFilter emails;
+        private final BloomFilter nicknames;
+        private final BloomFilter paths;
+        private final long capacity; //종류별 예상 개수. 나중에 넣은 개수를 합쳐서 비교하므로 조금 일찍 다시 만든다.
+        private final AtomicLong added = new AtomicLong();
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+            this.nicknames = new BloomFilter(capacity, falsePositiveRate);
+            this.paths = new BloomFilter(capacity, falsePositiveRate);
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.studyolle.common;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** BitmapIndex 키 -> id 집합 역색인
+ 목적 : "이 키들 중 하나라도 가진 id"를 join 없이 비트맵 합집합으로 구하기 위해서
+ 설명 : 키(태그 id, 지역 id 등)마다 id 집합을 압축 비트맵(Roaring)으로 들고 있다.
+       id가 연속된 구간은 run, 드문드문한 구간은 배열로 저장하므로 계정 100만 명이어도 키 하나에 수백 KB를 넘지 않는다.
+ 비고 : Roaring64NavigableMap은 id의 상위 32비트마다 32비트 비트맵을 두므로, 시퀀스 id가 2^32보다 작은 동안은 비트맵 하나로 동작한다.
+       비트맵 자체는 스레드 안전하지 않으므로 키마다 비트맵 객체로 잠근다. 키가 다르면 서로 기다리지 않는다.
+ **/
+public class BitmapIndex {
+
+    private final Map<Long, Roaring64NavigableMap> bitmaps = new ConcurrentHashMap<>();
+
+    public void add(Long key, long id) {
+        Roaring64NavigableMap bitmap = bitmaps.computeIfAbsent(key, k -> new Roaring64NavigableMap());
+        synchronized (bitmap) {
+            bitmap.addLong(id);
+        }
+    }
+
+    public void remove(Long key, long id) {
+        Roaring64NavigableMap bitmap = bitmaps.get(key);
+        if (bitmap == null) {
+            return;
+        }
+        synchronized (bitmap) {
+            bitmap.removeLong(id);
+        }
+    }
+
+    public boolean contains(Long key, long id) {
+        Roaring64NavigableMap bitmap = bitmaps.get(key);
+        if (bitmap == null) {
+            return false;
+        }
+        synchronized (bitmap) {
+            return bitmap.contains(id);
+        }
+    }
+
+    /** union
+     목적 : keys 중 하나라도 가진 id 집합
+     설명 : 새 비트맵에 합쳐서 돌려주므로 돌려받은 비트맵은 마음대로 바꿔도 된다.
+     **/
+    public Roaring64NavigableMap union(Collection<Long> keys) {
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        for (Long key : keys) {
+            Roaring64NavigableMap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                synchronized (bitmap) {
+                    result.or(bitmap);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** optimize
+     설명 : 한번에 많이 넣은 뒤(처음 읽을 때) 연속된 구간을 run으로 바꿔서 메모리를 줄인다.
+     **/
+    public void optimize() {
+        bitmaps.values().forEach(bitmap -> {
+            synchronized (bitmap) {
+                bitmap.runOptimize();
+            }
+        });
+    }
+
+    public int keyCount() {
+        return bitmaps.size();
+    }
+
+    public long sizeInBytes() {
+        long size = 0;
+        for (Roaring64NavigableMap bitmap : bitmaps.values()) {
+            synchronized (bitmap) {
+                size += bitmap.getLongSizeInBytes();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package com.studyolle.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** BloomFilter 문자열 블룸 필터
+ 목적 : "확실히 없음"을 DB 조회 없이 판단하기 위해서
+ 설명 : 값마다 비트 k개를 켜두고, 비트 중 하나라도 꺼져 있으면 없는 값이다. 모두 켜져 있으면 있을 수도 있는 값(오탐 가능)이다.
+       비트 수와 k는 예상 개수와 허용 오탐률로 정한다. 해시는 64비트 해시 두개를 섞어서(double hashing) k개를 만든다.
+ 비고 : 지울 수 없다. 값이 예상 개수보다 많이 들어가면 오탐률이 올라가므로 더 크게 다시 만들어야 한다.
+       AtomicLongArray라 잠금 없이 여러 스레드가 넣고 읽을 수 있다.
+ **/
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long expected = Math.max(expectedInsertions, 1);
+        long size = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (size + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /** mightContain
+     설명 : false면 넣은 적 없는 값이 확실하다. true면 넣었거나 오탐이다.
+     **/
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value, long seed) {
+        long hash = seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L; //FNV-1a
+        }
+        hash ^= hash >>> 33; //murmur3 fmix64로 비트를 고르게 섞는다.
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,28 @@
+package com.studyolle.common;
+
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+
+/** HtmlSanitizer 사용자가 작성한 html 정리
+ 목적 : summernote로 작성한 본문을 th:utext로 그대로 보여줄 때 스크립트가 실행되지 않게(stored XSS) 하기 위해서
+ 설명 : 허용한 태그와 속성(Safelist.relaxed - 문단, 목록, 표, 링크, 이미지 등)만 남기고 나머지는 지운다.
+       script, iframe, on* 이벤트 속성, javascript: 주소는 남지 않는다.
+ 비고 : 링크, 이미지 주소는 http, https(이미지는 data도)만 남긴다. 글자색 등 style 속성은 남기지 않는다.
+ **/
+public final class HtmlSanitizer {
+
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("span", "hr")
+            .addProtocols("img", "src", "data") //summernote가 붙여넣은 이미지를 data URL로 넣는다.
+            .preserveRelativeLinks(true);
+
+    private HtmlSanitizer() {
+    }
+
+    public static String sanitize(String html) {
+        if (html == null) {
+            return null;
+        }
+        return Jsoup.clean(html, "", SAFELIST);
+    }
+}
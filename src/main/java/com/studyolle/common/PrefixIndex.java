@@ -0,0 +1,77 @@
+package com.studyolle.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/** PrefixIndex 자동완성용 접두어 색인
+ 목적 : 입력한 글자로 시작하는 항목을 전체 목록을 훑지 않고 찾기 위해서
+ 설명 : 검색어(소문자) + 구분자 + 항목 id를 정렬된 키로 보관하고, 접두어 범위(subMap)만 읽는다.
+ 비고 : ConcurrentSkipListMap이라 읽는 중에도 항목을 추가/삭제할 수 있다.
+ **/
+public class PrefixIndex<T> {
+
+    private static final char SEPARATOR = '\u0000'; //검색어와 항목 id 사이 구분자 (어떤 글자보다 작다)
+
+    private final ConcurrentSkipListMap<String, T> entries = new ConcurrentSkipListMap<>();
+
+    /** add
+     목적 : 항목 추가
+     설명 : 하나의 항목을 여러 검색어로 찾을 수 있도록 검색어마다 한번씩 추가한다.
+     **/
+    public void add(String term, String id, T value) {
+        if (term == null || term.isBlank()) {
+            return;
+        }
+        entries.put(normalize(term) + SEPARATOR + id, value);
+    }
+
+    public void remove(String term, String id) {
+        if (term == null || term.isBlank()) {
+            return;
+        }
+        entries.remove(normalize(term) + SEPARATOR + id);
+    }
+
+    /** search
+     목적 : 접두어 검색
+     설명 : prefix로 시작하는 검색어의 항목을 정렬 순서대로 최대 limit개 반환한다. 같은 항목은 한번만 담는다.
+     **/
+    public List<T> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return collect(normalize(prefix), limit);
+    }
+
+    /** first
+     목적 : 앞쪽 항목 조회
+     설명 : 검색어 없이 정렬 순서대로 최대 limit개 반환한다.
+     **/
+    public List<T> first(int limit) {
+        return collect("", limit);
+    }
+
+    private List<T> collect(String from, int limit) {
+        Set<T> found = new LinkedHashSet<>();
+        for (Map.Entry<String, T> entry : entries.tailMap(from).entrySet()) {
+            if (!entry.getKey().startsWith(from) || found.size() >= limit) {
+                break;
+            }
+            found.add(entry.getValue());
+        }
+        return new ArrayList<>(found);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,144 @@
+package com.studyolle.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/** TokenBucketRateLimiter 키별 토큰 버킷 요청 제한
+ 목적 : 같은 키(계정, 이메일, IP)로 짧은 시간에 몰리는 요청을 DB나 메일 발송까지 가기 전에 막기 위해서
+ 설명 : 키마다 capacity개까지 토큰을 담는 버킷을 두고, period 동안 capacity개가 고르게 다시 찬다. 요청마다 토큰 하나를 쓰고, 없으면 거절한다.
+       버킷은 크기 제한이 있는 캐시(Caffeine)에 두고, period 동안 쓰지 않은 버킷은 어차피 가득 찼으므로 지운다.
+       버킷 값은 키의 해시로 고른 잠금(lock striping)으로 지켜서, 키마다 잠금 객체를 만들지 않고 다른 키끼리는 거의 기다리지 않는다.
+ 비고 : 여러 키(여러 제한기)를 한번에 확인할 때는 tryAcquireAll로 모두 쓰거나 하나도 쓰지 않는다.
+       서버마다 따로 센다. 키가 maximum-keys보다 많으면 오래 쓰지 않은 버킷부터 지워져 다시 가득 찬 상태로 시작한다.
+ **/
+public class TokenBucketRateLimiter {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long order = SEQUENCE.getAndIncrement(); //여러 제한기의 잠금을 잡는 순서
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Object[] locks;
+    private final Cache<String, Bucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(long capacity, Duration period, int stripes, long maximumKeys) {
+        this(capacity, period, stripes, maximumKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(long capacity, Duration period, int stripes, long maximumKeys, LongSupplier nanoClock) {
+        this.capacity = Math.max(capacity, 1);
+        this.tokensPerNano = (double) this.capacity / Math.max(period.toNanos(), 1);
+        this.locks = new Object[Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1)]; //2의 거듭제곱으로 올림
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(period)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /** tryAcquire
+     목적 : 토큰 하나 쓰기
+     설명 : 남은 토큰이 있으면 하나 쓰고 true, 없으면 false
+     **/
+    public boolean tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+        synchronized (lockFor(key)) {
+            bucket.refill(now, capacity, tokensPerNano);
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    /** tryAcquireAll
+     목적 : 여러 버킷에서 토큰을 하나씩, 모두 쓰거나 하나도 쓰지 않기
+     설명 : limiters.get(i)의 keys.get(i) 버킷을 모두 잠그고, 모두 채워서 확인한 뒤 전부 토큰이 있을 때만 하나씩 쓴다.
+           토큰이 없는 첫 버킷의 순서(i)를 돌려주고, 모두 썼으면 -1
+     비고 : 잠금은 (제한기를 만든 순서, stripe) 순서로 잡으므로 여러 요청이 키를 다른 순서로 넘겨도 서로 기다리다 멈추지 않는다.
+           같은 제한기의 같은 키를 두 번 넘기면 안 된다.
+     **/
+    public static int tryAcquireAll(List<TokenBucketRateLimiter> limiters, List<String> keys) {
+        int size = keys.size();
+        Bucket[] buckets = new Bucket[size];
+        long[] nows = new long[size];
+        Integer[] lockOrder = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            TokenBucketRateLimiter limiter = limiters.get(i);
+            long now = limiter.nanoClock.getAsLong();
+            nows[i] = now;
+            buckets[i] = limiter.buckets.get(keys.get(i), k -> new Bucket(limiter.capacity, now));
+            lockOrder[i] = i;
+        }
+        Arrays.sort(lockOrder, Comparator.<Integer>comparingLong(i -> limiters.get(i).order)
+                .thenComparingInt(i -> limiters.get(i).stripe(keys.get(i))));
+        return acquireAll(limiters, keys, buckets, nows, lockOrder, 0);
+    }
+
+    private static int acquireAll(List<TokenBucketRateLimiter> limiters, List<String> keys, Bucket[] buckets, long[] nows,
+                                  Integer[] lockOrder, int locked) {
+        if (locked < lockOrder.length) { //다음 버킷의 잠금을 잡고 들어간다.
+            TokenBucketRateLimiter limiter = limiters.get(lockOrder[locked]);
+            synchronized (limiter.lockFor(keys.get(lockOrder[locked]))) {
+                return acquireAll(limiters, keys, buckets, nows, lockOrder, locked + 1);
+            }
+        }
+
+        for (int i = 0; i < buckets.length; i++) {
+            TokenBucketRateLimiter limiter = limiters.get(i);
+            buckets[i].refill(nows[i], limiter.capacity, limiter.tokensPerNano);
+            if (buckets[i].tokens < 1) {
+                return i;
+            }
+        }
+        for (Bucket bucket : buckets) {
+            bucket.tokens -= 1;
+        }
+        return -1;
+    }
+
+    public long getKeyCount() {
+        return buckets.estimatedSize();
+    }
+
+    private Object lockFor(String key) {
+        return locks[stripe(key)];
+    }
+
+    private int stripe(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16; //하위 비트만 쓰므로 상위 비트를 섞는다.
+        return hash & (locks.length - 1);
+    }
+
+    private static class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(long tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private void refill(long now, long capacity, double tokensPerNano) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
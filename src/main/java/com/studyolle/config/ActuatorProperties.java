@@ -0,0 +1,16 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties("app.actuator")
+public class ActuatorProperties { //application.properties에서 app.actuator 접두사를 가진 지표 수집 접근 설정을 바인딩
+
+    private List<String> allowedAddresses = List.of("127.0.0.1", "::1"); ///actuator/prometheus를 열어줄 주소(IP 또는 CIDR). Prometheus 서버 주소를 넣는다.
+
+}
@@ -1,25 +1,63 @@
 package com.studyolle.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NameTokenizers;
 import org.modelmapper.spi.NameTokenizer;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** AppConfig 비밀번호 언코딩 **/
+@Slf4j
 @Configuration // 이 클래스가 Spring의 설정 클래스임을 정의
 public class AppConfig { // 웹 보안 활성화, 웹 보안 설정 재정의
 
     /** passwordEncoder
      목적 : @Bean 애노테이션을 사용하여 passwordEncoder 객체를 빈으로 등록
-     설명 : 비밀번호 언코딩
-     비고 :
+     설명 : 비밀번호 언코딩. 새 비밀번호는 app.password-hashing.algorithm 방식으로 저장하고,
+           저장된 값 앞의 {bcrypt}, {pbkdf2}를 보고 맞는 방식으로 확인한다.
+     비고 : 해시는 크기가 제한된 전용 스레드 풀(BoundedPasswordEncoder)에서 계산한다.
+           해시를 기다리는 요청 스레드는 많아야 threads + queue-capacity개다. 이 값이 톰캣 요청 스레드 수(server.tomcat.threads.max)의
+           절반을 넘으면 로그인이 몰릴 때 다른 요청을 받을 스레드가 모자라므로 경고를 남긴다.
+           방식이나 bcrypt cost가 바뀌면 로그인할 때 AccountService.updatePassword(UserDetails, String)로 다시 저장된다.
      **/
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder(); //
+    public BoundedPasswordEncoder passwordEncoder(PasswordHashingProperties properties, ServerProperties serverProperties) {
+        int requestThreads = serverProperties.getTomcat().getThreads().getMax();
+        if (properties.getThreads() + properties.getQueueCapacity() > requestThreads / 2) {
+            log.warn("app.password-hashing threads({}) + queue-capacity({}) can park more than half of server.tomcat.threads.max({})",
+                    properties.getThreads(), properties.getQueueCapacity(), requestThreads);
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(properties.getBcryptStrength()));
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+        if (!encoders.containsKey(properties.getAlgorithm())) {
+            throw new IllegalStateException("지원하지 않는 app.password-hashing.algorithm: " + properties.getAlgorithm());
+        }
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(properties.getAlgorithm(), encoders);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }); //기본 AbortPolicy - 가득 차면 RejectedExecutionException
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder, executor, properties.getTimeout().toMillis());
     }
 
     /** modelMapper
@@ -0,0 +1,42 @@
+package com.studyolle.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/** AsyncConfig 비동기, 주기 작업 설정 **/
+@EnableAsync
+@EnableScheduling
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    public static final String IMAGE_TASK_EXECUTOR = "imageTaskExecutor";
+
+    private final ImageProperties imageProperties;
+
+    /** imageTaskExecutor
+     목적 : 이미지 변환 스레드
+     설명 : 업로드한 이미지의 크기 조절/재인코딩을 요청 스레드 밖에서 처리한다.
+     비고 : 대기열이 가득 차면 요청 스레드에서 직접 처리한다.(backpressure)
+     **/
+    @Bean(IMAGE_TASK_EXECUTOR)
+    public Executor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageProperties.getWorkerCount());
+        executor.setMaxPoolSize(imageProperties.getWorkerCount());
+        executor.setQueueCapacity(imageProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
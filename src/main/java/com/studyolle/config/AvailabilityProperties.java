@@ -0,0 +1,22 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.availability")
+public class AvailabilityProperties { //application.properties에서 app.availability 접두사를 가진 이메일/닉네임/스터디 경로 중복 확인 설정을 바인딩
+
+    private long expectedInsertions = 100_000; //블룸 필터 하나에 넣을 예상 개수. 넘으면 DB에서 더 크게 다시 만든다.
+
+    private double falsePositiveRate = 0.01; //사용중일 수도 있다고 잘못 판단해서 DB를 확인하는 비율
+
+    private long emailIpCapacity = 60; //IP 하나에서 email-ip-period 동안 확인할 수 있는 이메일 수 (가입된 이메일을 모으지 못하게)
+
+    private Duration emailIpPeriod = Duration.ofMinutes(10);
+
+}
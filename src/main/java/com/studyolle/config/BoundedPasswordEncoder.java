@@ -0,0 +1,107 @@
+package com.studyolle.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** BoundedPasswordEncoder 스레드 수가 제한된 비밀번호 해시
+ 목적 : 로그인이 몰려도 bcrypt 계산이 요청 스레드(톰캣)를 모두 차지하지 않게 하기 위해서
+ 설명 : encode/matches를 크기가 제한된 해시 전용 스레드 풀에서 실행하고 요청 스레드는 결과를 기다린다.
+ 비고 : 대기열이 가득 차거나 app.password-hashing.timeout을 넘기면 AuthenticationServiceException을 던진다.
+       로그인은 로그인 실패로, 가입과 비밀번호 변경은 503으로 폼을 다시 보여준다.
+       요청 스레드가 기다리는 시간은 timeout까지이므로 대기열은 톰캣 요청 스레드 수보다 훨씬 작게 둔다. (AppConfig.passwordEncoder)
+       해시 한번에 걸린 시간을 모아 cost를 고르는 데 쓸 수 있다.
+ **/
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    private final AtomicLong hashCount = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); //해시 계산이 없으므로 바로 호출
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    hashCount.incrementAndGet();
+                    hashNanos.addAndGet(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("password hashing queue is full");
+            throw new AuthenticationServiceException("잠시 후 다시 시도해 주세요.", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.incrementAndGet();
+            throw new AuthenticationServiceException("잠시 후 다시 시도해 주세요.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause(); //형식이 틀린 해시 등은 원래 예외 그대로
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() { //빈이 없어질 때 스프링이 호출한다. (@Bean destroyMethod 추론)
+        executor.shutdown();
+    }
+
+    public long getHashCount() {
+        return hashCount.get();
+    }
+
+    public double getAverageHashMillis() {
+        long count = hashCount.get();
+        return count == 0 ? 0 : hashNanos.get() / 1_000_000.0 / count;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,181 @@
+package com.studyolle.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** CachingPersistentTokenRepository remember-me 토큰 저장소
+ 목적 : remember-me 자동 로그인마다 persistent_logins를 SELECT/UPDATE 하지 않기 위해서
+ 설명 : series로 찾은 토큰을 메모리(Caffeine)에 담아두고, 토큰 갱신(updateToken)은 메모리에 먼저 반영한 뒤
+       app.remember-me.flush-interval마다 series별 마지막 값만 모아서 배치 UPDATE 한다. (서버가 한 대일 때만 켜는 app.remember-me.single-node=true)
+       오래 쓰지 않은 토큰은 app.remember-me.sweep-interval마다 지운다.
+ 비고 : 토큰 도용 감지(쿠키 토큰과 저장된 토큰 비교)는 메모리의 최신 값으로 하므로 서버가 한 대일 때는 그대로 동작한다.
+       새 토큰 저장(createNewToken)과 사용자 토큰 삭제(removeUserTokens)는 바로 DB에 쓴다.
+       반영 전 서버가 죽으면 마지막 주기의 갱신이 사라져 해당 사용자는 다시 로그인해야 한다.
+       기본(app.remember-me.single-node=false)은 다른 서버가 바로 읽을 수 있도록 갱신을 모으지 않고 바로 DB에 쓰고,
+       쿠키 토큰이 메모리의 값과 다르면 도용으로 판단하기 전에 DB에서 다시 읽는다. (RefreshingRememberMeServices)
+ **/
+@Slf4j
+public class CachingPersistentTokenRepository implements PersistentTokenRepository {
+
+    private static final String UPDATE_TOKEN_SQL = "update persistent_logins set token = ?, last_used = ? where series = ?";
+    private static final String REMOVE_EXPIRED_SQL = "delete from persistent_logins where last_used < ?";
+
+    private final PersistentTokenRepository delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final RememberMeProperties properties;
+
+    private final Cache<String, PersistentRememberMeToken> tokens;
+    private final Map<String, PersistentRememberMeToken> pending = new ConcurrentHashMap<>(); //아직 DB에 쓰지 않은 갱신 (series -> 마지막 값)
+
+    private final AtomicLong lookupCount = new AtomicLong();
+    private final AtomicLong databaseLookupCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    public CachingPersistentTokenRepository(PersistentTokenRepository delegate, JdbcTemplate jdbcTemplate, RememberMeProperties properties) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterAccess(properties.getTokenValidity())
+                .build();
+    }
+
+    @Override
+    public void createNewToken(PersistentRememberMeToken token) {
+        delegate.createNewToken(token);
+        tokens.put(token.getSeries(), token);
+    }
+
+    @Override
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        PersistentRememberMeToken current = getTokenForSeries(series);
+        if (current == null) {
+            return; //이미 지워진 series (JdbcTokenRepositoryImpl도 0건 UPDATE로 끝난다.)
+        }
+        PersistentRememberMeToken updated = new PersistentRememberMeToken(current.getUsername(), series, tokenValue, lastUsed);
+        tokens.put(series, updated);
+        if (properties.isSingleNode()) {
+            pending.put(series, updated);
+        } else {
+            delegate.updateToken(series, tokenValue, lastUsed); //다른 서버가 바로 읽을 수 있도록
+        }
+    }
+
+    /** refreshIfStale
+     목적 : 다른 서버가 바꾼 토큰 다시 읽기
+     설명 : 쿠키의 토큰(presentedValue)이 메모리에 담긴 값과 다르면 메모리에서 지워서 다음 getTokenForSeries가 DB를 읽게 한다.
+     비고 : 이 서버가 바꾸고 아직 DB에 쓰지 않은 값(pending)이 있으면 그 값이 최신이므로 그대로 둔다.
+     **/
+    public void refreshIfStale(String series, String presentedValue) {
+        if (pending.containsKey(series)) {
+            return;
+        }
+        PersistentRememberMeToken cached = tokens.getIfPresent(series);
+        if (cached != null && !cached.getTokenValue().equals(presentedValue)) {
+            tokens.invalidate(series);
+        }
+    }
+
+    @Override
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
+        lookupCount.incrementAndGet();
+        PersistentRememberMeToken token = pending.get(seriesId);
+        if (token != null) {
+            return token;
+        }
+        return tokens.get(seriesId, series -> {
+            databaseLookupCount.incrementAndGet();
+            return delegate.getTokenForSeries(series);
+        });
+    }
+
+    @Override
+    public void removeUserTokens(String username) {
+        pending.values().removeIf(token -> token.getUsername().equals(username));
+        tokens.asMap().values().removeIf(token -> token.getUsername().equals(username));
+        delegate.removeUserTokens(username);
+    }
+
+    /** flush
+     목적 : 갱신 반영
+     설명 : 모아둔 토큰 갱신을 한번의 배치 UPDATE로 DB에 쓴다.
+     **/
+    @Scheduled(fixedDelayString = "#{@rememberMeProperties.flushInterval.toMillis()}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PersistentRememberMeToken> batch = new ArrayList<>();
+        for (String series : List.copyOf(pending.keySet())) {
+            PersistentRememberMeToken token = pending.remove(series);
+            if (token != null) {
+                batch.add(token);
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_TOKEN_SQL, batch, batch.size(), (ps, token) -> {
+                ps.setString(1, token.getTokenValue());
+                ps.setTimestamp(2, new Timestamp(token.getDate().getTime()));
+                ps.setString(3, token.getSeries());
+            });
+            flushedCount.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(token -> pending.putIfAbsent(token.getSeries(), token)); //다음 주기에 다시 쓴다.
+            log.error("failed to flush {} remember-me tokens", batch.size(), e);
+        }
+    }
+
+    /** sweep
+     목적 : 만료된 토큰 삭제
+     설명 : app.remember-me.token-validity보다 오래 쓰지 않은 토큰을 DB와 메모리에서 지운다.
+     **/
+    @Scheduled(fixedDelayString = "#{@rememberMeProperties.sweepInterval.toMillis()}",
+            initialDelayString = "#{@rememberMeProperties.sweepInterval.toMillis()}")
+    public void sweep() {
+        flush();
+        Date expiredBefore = new Date(System.currentTimeMillis() - properties.getTokenValidity().toMillis());
+        tokens.asMap().values().removeIf(token -> token.getDate().before(expiredBefore));
+        int removed = jdbcTemplate.update(REMOVE_EXPIRED_SQL, new Timestamp(expiredBefore.getTime()));
+        if (removed > 0) {
+            log.info("removed {} expired remember-me tokens", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() { //종료할 때 남은 갱신을 쓴다.
+        flush();
+    }
+
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    public long getDatabaseLookupCount() {
+        return databaseLookupCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
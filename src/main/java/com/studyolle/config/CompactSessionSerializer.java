@@ -0,0 +1,147 @@
+package com.studyolle.config;
+
+import com.studyolle.account.UserAccount;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** CompactSessionSerializer 세션 속성 직렬화
+ 목적 : 세션 저장소(SPRING_SESSION_ATTRIBUTES)에 저장하는 바이트를 줄이기 위해서
+ 설명 : 로그인 정보(SecurityContext + UserAccount)는 필요한 값만 DataOutputStream으로 직접 쓰고,
+       그 밖의 속성(CSRF 토큰, 저장된 요청 등)은 자바 직렬화로 저장한다. 첫 바이트로 둘을 구분한다.
+       폼 로그인(UsernamePasswordAuthenticationToken)과 remember-me 자동 로그인(RememberMeAuthenticationToken)은 첫 바이트를 달리해서
+       복원한 뒤에도 자동 로그인인지(isFullyAuthenticated가 아닌지) 구분된다.
+ 비고 : 비밀번호(credentials)와 WebAuthenticationDetails는 저장하지 않는다.
+       remember-me 토큰은 app.remember-me.key로 다시 만든다. 모든 서버가 같은 key를 써야 한다.
+       직렬화한 바이트 수를 세어 사용자당 세션 크기를 확인할 수 있다.
+ **/
+public class CompactSessionSerializer {
+
+    private static final byte JAVA = 0;
+    private static final byte SECURITY_CONTEXT = 1;
+    private static final byte REMEMBER_ME_SECURITY_CONTEXT = 2;
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+    private final String rememberMeKey;
+
+    private final AtomicLong serializedCount = new AtomicLong();
+    private final AtomicLong serializedBytes = new AtomicLong();
+    private final AtomicLong maxBytes = new AtomicLong();
+
+    public CompactSessionSerializer(String rememberMeKey) {
+        this.rememberMeKey = rememberMeKey;
+    }
+
+    public byte[] serialize(Object attribute) {
+        byte[] bytes = isCompact(attribute) ? writeSecurityContext((SecurityContext) attribute) : writeJava(attribute);
+        serializedCount.incrementAndGet();
+        serializedBytes.addAndGet(bytes.length);
+        maxBytes.accumulateAndGet(bytes.length, Math::max);
+        return bytes;
+    }
+
+    public Object deserialize(byte[] bytes) {
+        if (bytes[0] == SECURITY_CONTEXT || bytes[0] == REMEMBER_ME_SECURITY_CONTEXT) {
+            return readSecurityContext(bytes);
+        }
+        return deserializer.convert(Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    private static boolean isCompact(Object attribute) {
+        if (!(attribute instanceof SecurityContext)) {
+            return false;
+        }
+        Authentication authentication = ((SecurityContext) attribute).getAuthentication();
+        return authentication != null
+                && (authentication.getClass() == UsernamePasswordAuthenticationToken.class
+                || authentication.getClass() == RememberMeAuthenticationToken.class)
+                && authentication.getPrincipal() instanceof UserAccount;
+    }
+
+    private byte[] writeJava(Object attribute) {
+        byte[] serialized = serializer.convert(attribute);
+        byte[] bytes = new byte[serialized.length + 1];
+        bytes[0] = JAVA;
+        System.arraycopy(serialized, 0, bytes, 1, serialized.length);
+        return bytes;
+    }
+
+    private static byte[] writeSecurityContext(SecurityContext securityContext) {
+        Authentication authentication = securityContext.getAuthentication();
+        UserAccount userAccount = (UserAccount) authentication.getPrincipal();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(authentication instanceof RememberMeAuthenticationToken ? REMEMBER_ME_SECURITY_CONTEXT : SECURITY_CONTEXT);
+            out.writeLong(userAccount.getId());
+            out.writeUTF(userAccount.getNickname());
+            out.writeUTF(userAccount.getEmail());
+            out.writeBoolean(userAccount.isEmailVerified());
+            out.writeBoolean(userAccount.getAvatar() != null);
+            if (userAccount.getAvatar() != null) {
+                out.writeUTF(userAccount.getAvatar());
+            }
+            out.writeShort(userAccount.getAuthorities().size());
+            for (GrantedAuthority authority : userAccount.getAuthorities()) {
+                out.writeUTF(authority.getAuthority());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private SecurityContext readSecurityContext(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            long id = in.readLong();
+            String nickname = in.readUTF();
+            String email = in.readUTF();
+            boolean emailVerified = in.readBoolean();
+            String avatar = in.readBoolean() ? in.readUTF() : null;
+            int authorityCount = in.readShort();
+            List<SimpleGrantedAuthority> authorities = new ArrayList<>(authorityCount);
+            for (int i = 0; i < authorityCount; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+
+            UserAccount userAccount = new UserAccount(id, nickname, null, email, emailVerified, avatar, authorities);
+            Authentication authentication = bytes[0] == REMEMBER_ME_SECURITY_CONTEXT
+                    ? new RememberMeAuthenticationToken(rememberMeKey, userAccount, authorities)
+                    : new UsernamePasswordAuthenticationToken(userAccount, null, authorities);
+            return new SecurityContextImpl(authentication);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getSerializedCount() {
+        return serializedCount.get();
+    }
+
+    public double getAverageBytes() {
+        long count = serializedCount.get();
+        return count == 0 ? 0 : (double) serializedBytes.get() / count;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes.get();
+    }
+}
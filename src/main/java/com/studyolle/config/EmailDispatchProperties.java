@@ -0,0 +1,24 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.mail")
+public class EmailDispatchProperties { //application.properties에서 app.mail 접두사를 가진 메일 발송 설정을 바인딩
+
+    private int queueCapacity = 500; //발송 대기열 최대 크기
+
+    private int workerCount = 2; //메일을 실제로 보내는 워커 스레드 수
+
+    private Duration offerTimeout = Duration.ofMillis(100); //대기열이 가득 찼을 때 기다리는 시간. 넘으면 요청 스레드에서 직접 발송한다.
+
+    private int batchSize = 20; //SMTP 연결 하나로 보낼 최대 메일 수. 1이면 묶지 않는다.
+
+    private Duration batchWindow = Duration.ofMillis(200); //첫 메일이 들어온 뒤 다른 메일을 기다리는 시간
+
+}
@@ -0,0 +1,20 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("app.image")
+public class ImageProperties { //application.properties에서 app.image 접두사를 가진 이미지 처리 설정을 바인딩
+
+    private int profileSize = 250; //프로필 화면에 보여줄 이미지 한 변의 최대 픽셀
+
+    private int avatarSize = 48; //상단 메뉴 아바타(24px)를 고해상도 화면에서도 선명하게 보여줄 크기
+
+    private int workerCount = 1; //이미지 변환 스레드 수
+
+    private int queueCapacity = 100; //변환 대기열 크기. 가득 차면 요청 스레드에서 직접 변환한다.
+
+}
@@ -0,0 +1,26 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.mail-rate-limit")
+public class MailRateLimitProperties { //application.properties에서 app.mail-rate-limit 접두사를 가진 메일 발송 요청 제한 설정을 바인딩
+
+    private long recipientCapacity = 3; //계정/이메일 하나에 recipient-period 동안 보낼 수 있는 메일 수
+
+    private Duration recipientPeriod = Duration.ofHours(1);
+
+    private long ipCapacity = 20; //IP 하나에서 ip-period 동안 요청할 수 있는 메일 수 (프록시 뒤라면 server.forward-headers-strategy를 설정해야 실제 IP로 센다.)
+
+    private Duration ipPeriod = Duration.ofHours(1);
+
+    private int stripes = 64; //버킷 잠금 수. 동시에 요청하는 스레드 수보다 넉넉하게
+
+    private long maximumKeys = 100_000; //제한별로 기억하는 키 수
+
+}
@@ -0,0 +1,123 @@
+package com.studyolle.config;
+
+import com.studyolle.account.AccountInterestIndex;
+import com.studyolle.account.MailRateLimiter;
+import com.studyolle.account.UserDetailsCache;
+import com.studyolle.availability.AvailabilityIndex;
+import com.studyolle.event.DomainEventRelay;
+import com.studyolle.study.StudyViewCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** MetricsConfig 애플리케이션 지표 설정
+ 목적 : 가입, 로그인, 메일 발송, 스터디 개설 같은 주요 경로를 Prometheus(/actuator/prometheus)에서 보기 위해서
+ 설명 : @Timed가 붙은 메서드는 TimedAspect가 시간을 잰다. 메일 대기열, 캐시, 세션 크기 같은 내부 상태는 게이지/카운터로 등록한다.
+ 비고 : 지표 이름은 studyolle.* 로 시작한다. 메일 지표는 AsyncEmailService가 직접 등록한다.
+ **/
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /** studyViewCacheMetrics
+     목적 : 스터디 화면 캐시 지표
+     **/
+    @Bean
+    public MeterBinder studyViewCacheMetrics(StudyViewCache studyViewCache) {
+        return registry -> {
+            Gauge.builder("studyolle.study-view.cache.size", studyViewCache, StudyViewCache::getSize).register(registry);
+            FunctionCounter.builder("studyolle.study-view.cache.requests", studyViewCache, cache -> cache.getStats().hitCount())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("studyolle.study-view.cache.requests", studyViewCache, cache -> cache.getStats().missCount())
+                    .tag("result", "miss").register(registry);
+        };
+    }
+
+    /** availabilityMetrics
+     목적 : 중복 확인 색인 지표 - DB까지 간 확인 중 오탐 비율을 본다.
+     **/
+    @Bean
+    public MeterBinder availabilityMetrics(AvailabilityIndex availabilityIndex) {
+        return registry -> {
+            FunctionCounter.builder("studyolle.availability.checks", availabilityIndex, AvailabilityIndex::getCheckCount).register(registry);
+            FunctionCounter.builder("studyolle.availability.database.checks", availabilityIndex, AvailabilityIndex::getDatabaseCheckCount).register(registry);
+            FunctionCounter.builder("studyolle.availability.false-positives", availabilityIndex, AvailabilityIndex::getFalsePositiveCount).register(registry);
+        };
+    }
+
+    /** interestIndexMetrics
+     목적 : 관심 주제/활동 지역 색인이 차지하는 메모리
+     **/
+    @Bean
+    public MeterBinder interestIndexMetrics(AccountInterestIndex accountInterestIndex) {
+        return registry -> Gauge.builder("studyolle.interest.index.size", accountInterestIndex, AccountInterestIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /** outboxMetrics
+     목적 : 도메인 이벤트 전달 수, 읽지 못해 건너뛴 수
+     **/
+    @Bean
+    public MeterBinder outboxMetrics(DomainEventRelay domainEventRelay) {
+        return registry -> {
+            FunctionCounter.builder("studyolle.outbox.relayed", domainEventRelay, DomainEventRelay::getRelayedCount).register(registry);
+            FunctionCounter.builder("studyolle.outbox.failed", domainEventRelay, DomainEventRelay::getFailedCount).register(registry);
+        };
+    }
+
+    /** mailRateLimitMetrics
+     목적 : 메일 발송 요청 제한에 걸린 수 (limit = ip, email, account)
+     **/
+    @Bean
+    public MeterBinder mailRateLimitMetrics(MailRateLimiter mailRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("studyolle.mail.rate-limited", mailRateLimiter, MailRateLimiter::getIpRejectedCount).tag("limit", "ip").register(registry);
+            FunctionCounter.builder("studyolle.mail.rate-limited", mailRateLimiter, MailRateLimiter::getEmailRejectedCount).tag("limit", "email").register(registry);
+            FunctionCounter.builder("studyolle.mail.rate-limited", mailRateLimiter, MailRateLimiter::getAccountRejectedCount).tag("limit", "account").register(registry);
+        };
+    }
+
+    /** securityMetrics
+     목적 : 로그인 경로(사용자 캐시, remember-me 토큰, 비밀번호 해시, 세션 크기) 지표
+     설명 : 모든 빈이 만들어진 뒤에 등록한다.
+     비고 : MeterBinder로 등록하면 MeterRegistry가 SecurityConfig의 빈을 기다리고, SecurityConfig는 웹 설정을 통해
+           MeterRegistry를 기다리므로 순환 참조가 된다.
+     **/
+    @Bean
+    public SmartInitializingSingleton securityMetrics(MeterRegistry registry, UserDetailsCache userDetailsCache,
+                                                      CachingPersistentTokenRepository tokenRepository,
+                                                      BoundedPasswordEncoder passwordEncoder,
+                                                      CompactSessionSerializer sessionSerializer) {
+        return () -> {
+            Gauge.builder("studyolle.user-details.cache.size", userDetailsCache, UserDetailsCache::getSize).register(registry);
+            FunctionCounter.builder("studyolle.user-details.cache.requests", userDetailsCache, cache -> cache.getStats().hitCount())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("studyolle.user-details.cache.requests", userDetailsCache, cache -> cache.getStats().missCount())
+                    .tag("result", "miss").register(registry);
+
+            FunctionCounter.builder("studyolle.remember-me.lookups", tokenRepository, CachingPersistentTokenRepository::getLookupCount).register(registry);
+            FunctionCounter.builder("studyolle.remember-me.database.lookups", tokenRepository, CachingPersistentTokenRepository::getDatabaseLookupCount).register(registry);
+            Gauge.builder("studyolle.remember-me.pending", tokenRepository, CachingPersistentTokenRepository::getPendingCount).register(registry);
+
+            FunctionCounter.builder("studyolle.password.hashes", passwordEncoder, BoundedPasswordEncoder::getHashCount).register(registry);
+            Gauge.builder("studyolle.password.hash.average", passwordEncoder, BoundedPasswordEncoder::getAverageHashMillis)
+                    .baseUnit("milliseconds").register(registry);
+            FunctionCounter.builder("studyolle.password.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount).register(registry);
+
+            Gauge.builder("studyolle.session.attribute.size.average", sessionSerializer, CompactSessionSerializer::getAverageBytes)
+                    .baseUnit("bytes").register(registry);
+            Gauge.builder("studyolle.session.attribute.size.max", sessionSerializer, CompactSessionSerializer::getMaxBytes)
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+}
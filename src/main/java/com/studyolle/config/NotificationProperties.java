@@ -0,0 +1,22 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.notification")
+public class NotificationProperties { //application.properties에서 app.notification 접두사를 가진 알림 설정을 바인딩
+
+    private int batchSize = 500; //수신자를 한번에 읽고, 알림을 한 트랜잭션에 저장하는 개수
+
+    private long countCacheSize = 10_000; //읽지 않은 알림 수를 담아둘 최대 계정 수
+
+    private Duration countCacheTtl = Duration.ofSeconds(30); //담은 뒤 이 시간이 지나면 다시 센다. (다른 서버에서 지운 것은 이 서버에 알려지지 않으므로)
+
+    private int pageSize = 20; //알림 목록 한 페이지 크기
+
+}
@@ -0,0 +1,26 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.outbox")
+public class OutboxProperties { //application.properties에서 app.outbox 접두사를 가진 도메인 이벤트 outbox 설정을 바인딩
+
+    private Duration pollInterval = Duration.ofSeconds(1); //outbox를 확인하는 주기. 이벤트를 넣은 트랜잭션이 커밋되면 기다리지 않고 바로 확인한다.
+
+    private int maxAttempts = 10; //리스너가 이만큼 실패하면 오류를 남기고 더 전달하지 않는다.
+
+    private Duration retryDelay = Duration.ofSeconds(10); //실패한 이벤트를 다시 전달할 때까지 기다리는 시간. 실패할 때마다 두 배로 늘린다.
+
+    private Duration maxRetryDelay = Duration.ofHours(1); //다시 전달할 때까지 기다리는 최대 시간
+
+    private Duration retention = Duration.ofDays(7); //전달한 이벤트를 지우지 않고 남겨두는 기간 (장애 확인용)
+
+    private boolean relayEnabled = false; //이 서버가 이벤트를 전달할지. 전달할 한 대에서만 true로 켠다.
+
+}
@@ -0,0 +1,24 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.password-hashing")
+public class PasswordHashingProperties { //application.properties에서 app.password-hashing 접두사를 가진 비밀번호 해시 설정을 바인딩
+
+    private String algorithm = "bcrypt"; //새로 저장하는 비밀번호의 해시 방식 (bcrypt, pbkdf2). 다르게 저장된 비밀번호는 로그인할 때 바꾼다.
+
+    private int bcryptStrength = 10; //bcrypt cost. 1 올릴 때마다 해시 시간이 두배가 된다.
+
+    private int threads = Runtime.getRuntime().availableProcessors(); //해시 전용 스레드 수
+
+    private int queueCapacity = 32; //해시 대기열 크기. 가득 차면 바로 실패시킨다. threads와 합쳐 server.tomcat.threads.max의 절반보다 훨씬 작게 둔다.
+
+    private Duration timeout = Duration.ofSeconds(2); //대기열에서 기다린 시간을 포함한 최대 대기 시간
+
+}
@@ -0,0 +1,38 @@
+package com.studyolle.config;
+
+import com.studyolle.monitoring.EntityLoadInterceptor;
+import com.studyolle.monitoring.QueryCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/** QueryStatsConfig 요청별 쿼리 통계 설정
+ 설명 : DataSource를 QueryCountingDataSource로 감싸고, 하이버네이트에 EntityLoadInterceptor를 등록한다.
+ 비고 : app.query-stats.enabled=false면 아무것도 감싸지 않는다.
+ **/
+@Configuration
+@ConditionalOnProperty(name = "app.query-stats.enabled", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() { //다른 빈보다 먼저 만들어져야 하므로 static
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadInterceptorCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new EntityLoadInterceptor());
+    }
+}
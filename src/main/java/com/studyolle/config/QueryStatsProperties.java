@@ -0,0 +1,16 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("app.query-stats")
+public class QueryStatsProperties { //application.properties에서 app.query-stats 접두사를 가진 요청별 쿼리 통계 설정을 바인딩
+
+    private boolean enabled = true; //요청별 SQL 수, DB 시간, 엔티티 로딩 수 집계
+
+    private boolean responseHeader = false; //X-Query-Count, X-Query-Time 응답 헤더. 운영에서는 끈다.
+
+}
@@ -0,0 +1,31 @@
+package com.studyolle.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenBasedRememberMeServices;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** RefreshingRememberMeServices remember-me 자동 로그인
+ 목적 : 다른 서버가 갱신한 토큰을 이 서버의 메모리에 남은 예전 값과 비교해서 도용(CookieTheftException)으로 잘못 판단하지 않기 위해서
+ 설명 : 쿠키의 토큰이 CachingPersistentTokenRepository 메모리의 값과 다르면 DB에서 다시 읽은 뒤 원래 검사(PersistentTokenBasedRememberMeServices)를 한다.
+ 비고 : DB의 값과도 다르면 원래대로 도용으로 보고 사용자의 토큰을 모두 지운다.
+ **/
+public class RefreshingRememberMeServices extends PersistentTokenBasedRememberMeServices {
+
+    private final CachingPersistentTokenRepository tokenRepository;
+
+    public RefreshingRememberMeServices(String key, UserDetailsService userDetailsService, CachingPersistentTokenRepository tokenRepository) {
+        super(key, userDetailsService, tokenRepository);
+        this.tokenRepository = tokenRepository;
+    }
+
+    @Override
+    protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request, HttpServletResponse response) {
+        if (cookieTokens.length == 2) { //series:token. 형식이 틀리면 원래 검사에서 예외가 난다.
+            tokenRepository.refreshIfStale(cookieTokens[0], cookieTokens[1]);
+        }
+        return super.processAutoLoginCookie(cookieTokens, request, response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.remember-me")
+public class RememberMeProperties { //application.properties에서 app.remember-me 접두사를 가진 remember-me 토큰 저장소 설정을 바인딩
+
+    private long cacheSize = 10_000; //메모리에 담아둘 최대 토큰(series) 수
+
+    private Duration flushInterval = Duration.ofSeconds(5); //바뀐 토큰/last_used를 모아서 DB에 쓰는 주기
+
+    private Duration sweepInterval = Duration.ofHours(1); //만료된 토큰을 지우는 주기
+
+    private Duration tokenValidity = Duration.ofDays(14); //remember-me 쿠키 유효기간. 이보다 오래 안 쓴 토큰은 지운다.
+
+    private boolean singleNode = false; //true면 토큰 갱신을 메모리에 모았다가 flush-interval마다 쓴다. 서버가 한 대일 때만 켠다. (여러 대에서 켜면 다른 서버가 예전 토큰을 읽어 도용으로 판단한다.)
+
+    private String key = "studyolle"; //RememberMeAuthenticationToken을 만든 쪽 확인용 값. 비밀값은 쿠키의 series/token이고, 세션에서 토큰을 다시 만들 때 쓰므로 모든 서버가 같아야 한다.
+
+}
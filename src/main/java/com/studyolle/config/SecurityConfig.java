@@ -11,9 +11,9 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
-import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
 
 import javax.sql.DataSource;
+import java.util.stream.Collectors;
 
 /** SecurityConfig 스프링 시큐리티 설정 **/
 @Configuration
@@ -23,6 +23,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final AccountService accountService;
     private final DataSource dataSource;
+    private final RememberMeProperties rememberMeProperties;
+    private final ActuatorProperties actuatorProperties;
 
     /** configure
      목적 : 페이지 권한 허용
@@ -34,7 +36,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http.authorizeRequests()
                 .mvcMatchers("/", "/login", "/sign-up", "/check-email", "/check-email-token",
                         "/email-login", "/check-email-login", "/login-link").permitAll()
-                .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll()
+                .mvcMatchers(HttpMethod.GET, "/profile/*", "/images/*", "/search/study", "/studies", "/availability/*").permitAll()
+                .mvcMatchers(HttpMethod.GET, "/actuator/health").permitAll() //상태 확인
+                .mvcMatchers(HttpMethod.GET, "/actuator/prometheus").access(allowedAddresses()) //Prometheus 수집 - 정한 주소에서만
+                .mvcMatchers(HttpMethod.GET, "/query-stats").access(allowedAddresses()) //쿼리 통계 - 컨트롤러와 SQL 수가 드러나므로 같은 주소에서만
                 .anyRequest().authenticated();
 
         http.formLogin() //http.formLogin()만 있으면 스프링 시큐리티가 제공하는 로그인폼이 나온다.
@@ -44,20 +49,45 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .logoutSuccessUrl("/"); //로그아웃 성공할때 이동하는 페이지 설정
 
         http.rememberMe()
-                .userDetailsService(accountService) //
-                .tokenRepository(tokenRepository()); //Username, 토큰 , 시리즈 세개를 조합해 만든 번호를 db에 저장
+                .rememberMeServices(rememberMeServices()) //Username, 토큰 , 시리즈 세개를 조합해 만든 번호를 db에 저장
+                .key(rememberMeProperties.getKey()); //세션에서 복원한 RememberMeAuthenticationToken과 같은 key (서버마다 임의 값이면 안 된다.)
+    }
+
+    /** rememberMeServices
+     목적 : remember-me 자동 로그인 설정
+     설명 : 토큰이 다른 서버에서 갱신되었으면 DB에서 다시 읽은 뒤 도용 여부를 판단하는 RefreshingRememberMeServices를 쓴다.
+     **/
+    private RefreshingRememberMeServices rememberMeServices() {
+        RefreshingRememberMeServices rememberMeServices =
+                new RefreshingRememberMeServices(rememberMeProperties.getKey(), accountService, tokenRepository());
+        rememberMeServices.setTokenValiditySeconds((int) rememberMeProperties.getTokenValidity().toSeconds()); //만료된 토큰을 지우는 기준과 같은 값
+        return rememberMeServices;
+    }
+
+    /** allowedAddresses
+     목적 : 지표 수집, 쿼리 통계 주소 제한
+     설명 : app.actuator.allowed-addresses 중 하나에서 온 요청만 허용하는 식 ("hasIpAddress('a') or hasIpAddress('b')")
+     비고 : 프록시 뒤에서는 server.forward-headers-strategy로 믿을 수 있는 프록시가 넘긴 클라이언트 주소를 본다.
+     **/
+    private String allowedAddresses() {
+        if (actuatorProperties.getAllowedAddresses().isEmpty()) {
+            return "denyAll";
+        }
+        return actuatorProperties.getAllowedAddresses().stream()
+                .map(address -> "hasIpAddress('" + address + "')")
+                .collect(Collectors.joining(" or "));
     }
 
     /** tokenRepository
      목적 :  remember-Me기능
      설명 :  spring Security의 Remember-Me 기능을 사용하기 위해 필요한 토큰 저장소를 설정하는 메서드
-     비고 :
+     비고 :  JdbcTokenRepositoryImpl 앞에 CachingPersistentTokenRepository를 두어 토큰 조회는 메모리에서, 갱신은 모아서 DB에 쓴다.
      **/
     @Bean //@Bean어노테이션은 Spring 컨테이너에 의해 관리되는 Bean 객체를 정의. 이 메서드가 반환하는 객체는 Spring 컨텍스트에서 Bean으로 등록되고 관리
-    public PersistentTokenRepository tokenRepository(){
+    public CachingPersistentTokenRepository tokenRepository(){
         JdbcTokenRepositoryImpl jdbcTokenRepository = new JdbcTokenRepositoryImpl(); //JdbcTokenRepositoryImpl 클래스를 사용하여 Remember-Me 토큰을 데이터베이스에 저장하고 관리
         jdbcTokenRepository.setDataSource(dataSource); //인스턴스에 데이터베이스 연결을 설정
-        return jdbcTokenRepository;
+        return new CachingPersistentTokenRepository(jdbcTokenRepository, jdbcTokenRepository.getJdbcTemplate(), rememberMeProperties);
     }
 
     @Override
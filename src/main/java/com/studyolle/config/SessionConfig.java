@@ -0,0 +1,31 @@
+package com.studyolle.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/** SessionConfig 세션 저장소 설정
+ 설명 : 세션은 spring.session.store-type에 정한 저장소(기본은 같은 DB의 SPRING_SESSION 테이블)에 저장한다.
+       여러 대의 서버가 같은 세션을 볼 수 있으므로 로드밸런서 뒤에서 서버를 늘릴 수 있다.
+ **/
+@Configuration
+public class SessionConfig {
+
+    @Bean
+    public CompactSessionSerializer compactSessionSerializer(RememberMeProperties rememberMeProperties) {
+        return new CompactSessionSerializer(rememberMeProperties.getKey());
+    }
+
+    /** springSessionConversionService
+     목적 : 세션 속성 직렬화 방식 지정
+     설명 : Spring Session JDBC는 이 이름의 ConversionService로 세션 속성을 byte[]로 바꿔 저장한다.
+     **/
+    @Bean
+    public ConversionService springSessionConversionService(CompactSessionSerializer compactSessionSerializer) {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, compactSessionSerializer::serialize);
+        conversionService.addConverter(byte[].class, Object.class, compactSessionSerializer::deserialize);
+        return conversionService;
+    }
+}
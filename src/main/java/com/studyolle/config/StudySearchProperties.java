@@ -0,0 +1,24 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.study-search")
+public class StudySearchProperties { //application.properties에서 app.study-search 접두사를 가진 스터디 검색 색인 설정을 바인딩
+
+    private String indexDirectory = ""; //색인을 저장할 디렉터리. 비어 있으면 메모리에만 둔다. (재시작하면 DB에서 다시 만든다.)
+
+    private Duration commitInterval = Duration.ofSeconds(10); //색인 변경을 디스크에 기록(commit)하는 주기. 검색에는 바로 반영된다.
+
+    private int pageSize = 20; //검색 결과 한 페이지 크기
+
+    private int maxResultWindow = 1_000; //검색 결과를 앞에서부터 몇 개까지 넘겨볼 수 있는지 (깊은 페이지 제한)
+
+    private int reindexBatchSize = 500; //색인을 다시 만들 때 한번에 읽는 스터디 수
+
+}
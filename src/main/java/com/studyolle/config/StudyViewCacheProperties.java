@@ -0,0 +1,18 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.study-view-cache")
+public class StudyViewCacheProperties { //application.properties에서 app.study-view-cache 접두사를 가진 스터디 화면 캐시 설정을 바인딩
+
+    private long maximumSize = 1_000; //캐시에 담을 최대 스터디 수
+
+    private Duration timeToLive = Duration.ofMinutes(30); //수정 때마다 지우지만, 놓친 변경이 있어도 이 시간이 지나면 DB에서 다시 읽는다.
+
+}
@@ -0,0 +1,18 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.user-details-cache")
+public class UserDetailsCacheProperties { //application.properties에서 app.user-details-cache 접두사를 가진 로그인 사용자 캐시 설정을 바인딩
+
+    private long maximumSize = 10_000; //캐시에 담을 최대 사용자 수
+
+    private Duration timeToLive = Duration.ofMinutes(10); //저장한 뒤 이 시간이 지나면 DB에서 다시 읽는다.
+
+}
@@ -0,0 +1,38 @@
+package com.studyolle.config;
+
+import com.studyolle.account.CurrentAccountArgumentResolver;
+import com.studyolle.monitoring.QueryStats;
+import com.studyolle.monitoring.QueryStatsInterceptor;
+import com.studyolle.notification.NotificationInterceptor;
+import com.studyolle.notification.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/** WebConfig 스프링 MVC 설정 **/
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentAccountArgumentResolver currentAccountArgumentResolver;
+    private final QueryStats queryStats;
+    private final QueryStatsProperties queryStatsProperties;
+    private final NotificationService notificationService;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentAccountArgumentResolver); //@CurrentAccount Account 파라미터를 요청마다 조회해서 넣어준다.
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (queryStatsProperties.isEnabled()) {
+            registry.addInterceptor(new QueryStatsInterceptor(queryStats, queryStatsProperties)); //컨트롤러 메서드별 쿼리 수 집계
+        }
+        registry.addInterceptor(new NotificationInterceptor(notificationService)); //상단 메뉴의 읽지 않은 알림 수
+    }
+}
@@ -0,0 +1,16 @@
+package com.studyolle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("app.zone")
+public class ZoneDataProperties { //application.properties에서 app.zone 접두사를 가진 지역 데이터 설정을 바인딩
+
+    private String dataLocation = "classpath:zones_kr.csv"; //처음 실행할 때 읽을 지역 CSV 위치 (classpath:, file: 모두 가능)
+
+    private int chunkSize = 500; //몇 줄마다 flush 하고 영속성 컨텍스트를 비울지
+
+}
@@ -14,7 +14,9 @@ import java.util.UUID;
 @Builder @AllArgsConstructor @NoArgsConstructor
 public class Account {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -31,6 +33,9 @@ public class Account {
 
     private LocalDateTime emailCheckTokenGeneratedAt;
 
+    @Column(updatable = false) //AccountRepository.markSignUpMailSent로만 바꾼다. (세션에 있던 계정을 저장해도 지워지지 않게)
+    private LocalDateTime signUpMailSentAt; //가입 확인 메일을 보낸 시간. 가입 이벤트가 다시 전달되어도 두 번 보내지 않는다.
+
     private LocalDateTime joinedAt;
 
     private String bio;
@@ -41,8 +46,9 @@ public class Account {
 
     private String location;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String profileImage;
+    private String profileImage; //프로필 이미지 주소("/images/{id}"). 이미지 바이트는 Image 테이블에 따로 저장한다.
+
+    private String profileImageThumbnail; //상단 메뉴에 보여줄 작은 아바타 이미지 주소. ProfileImageProcessor가 만든다.
 
     private boolean studyCreatedByEmail;
 
@@ -0,0 +1,39 @@
+package com.studyolle.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/** Image 프로필/스터디 이미지
+ 목적 : 이미지를 Account, Study 행에 base64 문자열로 넣지 않고 별도 테이블에 바이너리로 보관하기 위해서
+ 설명 : Account, Study에는 "/images/{id}" 주소만 저장하고, 실제 바이트는 ImageController가 내려준다.
+ 비고 : 새 이미지를 올리면 새 행이 생긴다. 프로필 이미지 변환처럼 바이트를 바꾸면 주소에 버전(?v=)을 붙인 새 주소를 쓴다.
+ **/
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+public class Image {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_seq")
+    @SequenceGenerator(name = "image_seq", sequenceName = "image_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String contentType; //image/png, image/jpeg ...
+
+    @Column(nullable = false, length = Image.MAX_SIZE)
+    private byte[] data;
+
+    @Column(nullable = false)
+    private String etag; //data의 SHA-256. 브라우저 캐시 검증(If-None-Match)에 사용
+
+    private LocalDateTime createdAt;
+
+    public static final int MAX_SIZE = 5 * 1024 * 1024; //5MB
+
+    public String getUrl() {
+        return "/images/" + id;
+    }
+}
@@ -0,0 +1,36 @@
+package com.studyolle.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/** Notification 알림 **/
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+@Table(indexes = @Index(name = "notification_account_idx", columnList = "account_id, checked, id")) //계정별 읽지 않은 알림 수, 최근 알림 목록
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50) //수신자가 많아도 INSERT를 JDBC 배치로 묶을 수 있게 한다.
+    private Long id;
+
+    private String title;
+
+    private String link; //알림을 누르면 이동할 주소
+
+    private String message;
+
+    private boolean checked; //읽음 여부
+
+    @ManyToOne(fetch = FetchType.LAZY) //알림 목록은 계정을 보여주지 않는다.
+    private Account account;
+
+    private LocalDateTime createdDateTime;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+
+}
@@ -0,0 +1,11 @@
+package com.studyolle.domain;
+
+public enum NotificationType {
+
+    STUDY_CREATED, //관심 주제/활동 지역의 스터디가 만들어짐
+
+    STUDY_ENROLLMENT, //스터디 참가 신청 결과
+
+    STUDY_UPDATED //참여중인 스터디 소식
+
+}
@@ -0,0 +1,37 @@
+package com.studyolle.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/** OutboxEvent 전달할 도메인 이벤트 **/
+@Entity
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+@Table(indexes = @Index(name = "outbox_event_published_idx", columnList = "publishedDateTime, id")) //아직 전달하지 않은 이벤트를 id 순서로
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String type; //이벤트 클래스 이름
+
+    @Column(nullable = false, length = 10000)
+    private String payload; //이벤트 JSON
+
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime publishedDateTime; //null이면 아직 전달하지 않음
+
+    private int attempts; //리스너가 실패한 횟수
+
+    private LocalDateTime nextAttemptDateTime; //실패한 이벤트를 다시 전달할 시간. null이면 바로
+
+    @Column(length = 1000)
+    private String lastError; //마지막으로 실패한 이유
+
+}
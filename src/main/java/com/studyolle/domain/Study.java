@@ -10,9 +10,14 @@ import java.util.Set;
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
+@Table(indexes = { //공개된 스터디 목록(keyset 페이징)이 테이블을 읽지 않고 인덱스만으로 다음 페이지 id를 찾도록 한다.
+        @Index(name = "study_listing_idx", columnList = "published, closed, publishedDateTime, id"),
+        @Index(name = "study_recruiting_listing_idx", columnList = "published, closed, recruiting, publishedDateTime, id")})
 public class Study {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_seq")
+    @SequenceGenerator(name = "study_seq", sequenceName = "study_seq", allocationSize = 50)
     private Long id;
 
     /*
@@ -36,8 +41,7 @@ public class Study {
     @Lob @Basic(fetch = FetchType.EAGER) //길이 많기때문에 @Lob
     private String fullDescription; //본문
 
-    @Lob @Basic(fetch = FetchType.EAGER) //길이 많기때문에 @Lob
-    private String image; //프로필이미지
+    private String image; //프로필이미지 주소("/images/{id}"). 이미지 바이트는 Image 테이블에 따로 저장한다.
 
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
@@ -1,18 +1,25 @@
 package com.studyolle.domain;
 
+import com.studyolle.tag.TagCatalogListener;
 import lombok.*;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 @Entity
+@EntityListeners(TagCatalogListener.class) //새 태그가 커밋되면 메모리의 태그 사전(TagCatalog)에 추가한다.
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
 public class Tag {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_seq")
+    @SequenceGenerator(name = "tag_seq", sequenceName = "tag_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
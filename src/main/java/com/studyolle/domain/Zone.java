@@ -1,5 +1,6 @@
 package com.studyolle.domain;
 
+import com.studyolle.zone.ZoneCatalogListener;
 import lombok.*;
 
 import javax.persistence.*;
@@ -7,11 +8,13 @@ import javax.persistence.*;
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
+@EntityListeners(ZoneCatalogListener.class) //Zone이 바뀌면 메모리의 지역 목록(ZoneCatalog)을 다시 만든다.
 @Table(uniqueConstraints = @UniqueConstraint(columnNames = {"city", "province"}))
 public class Zone {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "zone_seq")
+    @SequenceGenerator(name = "zone_seq", sequenceName = "zone_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
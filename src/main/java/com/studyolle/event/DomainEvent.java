@@ -0,0 +1,9 @@
+package com.studyolle.event;
+
+/** DomainEvent 도메인 이벤트
+ 목적 : DomainEventOutbox에 넣을 수 있는 이벤트를 표시하기 위해서
+ 설명 : 다른 스레드, 다른 트랜잭션에서 읽으므로 엔티티 대신 필요한 값만 담는다. JSON으로 저장했다가 생성자로 다시 만든다.
+ 비고 : 클래스 이름으로 저장하므로 이름을 바꾸면 전달하지 않은 이벤트는 읽을 수 없다.
+ **/
+public interface DomainEvent {
+}
@@ -0,0 +1,53 @@
+package com.studyolle.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/** DomainEventOutbox 도메인 이벤트 보관함(transactional outbox)
+ 목적 : 스터디 개설, 가입, 관심 주제 변경 같은 쓰기 요청이 메일/알림/검색 색인/캐시 같은 후속 처리를 기다리지 않고,
+       서버가 죽어도 커밋된 변경의 후속 처리를 잃어버리지 않기 위해서
+ 설명 : 이벤트를 JSON으로 바꿔 outbox_event 테이블에 쓰기 요청과 같은 트랜잭션으로 저장한다. 롤백되면 이벤트도 사라진다.
+       커밋되면 DomainEventRelay를 깨워서 바로 전달하게 한다. (깨우지 못해도 poll-interval마다 확인한다.)
+ 비고 : 트랜잭션 안에서만 부를 수 있다.
+ **/
+@Component
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventRelay domainEventRelay;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(event.getClass().getName())
+                .payload(toJson(event))
+                .createdDateTime(LocalDateTime.now())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                domainEventRelay.wakeUp();
+            }
+        });
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("도메인 이벤트를 JSON으로 바꿀 수 없습니다: " + event.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.studyolle.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.studyolle.config.OutboxProperties;
+import com.studyolle.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** DomainEventRelay 도메인 이벤트 전달
+ 목적 : outbox에 저장된 이벤트를 쓰기 요청 스레드 밖에서 리스너에게 적어도 한 번(at-least-once) 전달하기 위해서
+ 설명 : 아직 전달하지 않은 이벤트를 id 순서로 하나씩 잠가서 읽고, 그 트랜잭션 안에서 ApplicationEventPublisher로 발행한다.
+       리스너는 @EventListener로 이 스레드에서 바로 실행되고, 모두 끝나야 전달했다고 표시하고 커밋한다.
+       리스너가 예외를 던지면 그 트랜잭션은 롤백되고(그 안에서 대기열에 넣은 메일도 보내지 않는다), 실패 횟수와 이유를 남긴 뒤
+       retry-delay(실패할 때마다 두 배, max-retry-delay까지) 뒤에 다시 전달한다. max-attempts번 실패하면 오류를 남기고 포기한다.
+       커밋 직후 wakeUp으로 바로 전달하고, 놓친 이벤트(깨우기 전에 죽음, 다른 서버가 저장)와 다시 전달할 이벤트는 poll-interval마다 확인한다.
+ 비고 : 리스너가 끝난 뒤 표시를 커밋하기 전에 죽거나, 한 리스너가 실패해서 다시 전달하면 이미 끝난 리스너도 같은 이벤트를 다시 받는다.
+       그래서 리스너는 같은 이벤트를 두 번 받아도 결과가 같아야 한다. (가입 확인 메일, 알림은 보냈는지 DB에 남겨서 확인한다.)
+       한번에 하나만 전달하므로 순서가 지켜지지만, 실패해서 미룬 이벤트보다 뒤의 이벤트가 먼저 전달될 수 있다.
+       이벤트는 전달한 서버의 리스너만 받는다. 검색 색인(StudySearchIndex), 관심 계정 색인(AccountInterestIndex)처럼 서버 메모리에 두는 것은
+       전달한 서버에서만 최신이 되므로 전달은 한 서버에서만 켠다. (app.outbox.relay-enabled, 기본값 false) 나머지 서버는 이벤트를 저장만 한다.
+       읽을 수 없는 이벤트는 다시 읽어도 마찬가지이므로 오류를 남기고 전달한 것으로 표시해서 뒤의 이벤트를 막지 않는다.
+ **/
+@Slf4j
+@Component
+public class DomainEventRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+    private final AtomicLong relayedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public DomainEventRelay(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher, OutboxProperties properties,
+                            TaskScheduler taskScheduler, PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper.copy() //이벤트는 기본 생성자 없이 생성자 매개변수 이름으로 만든다. (매개변수가 하나여도)
+                .setConstructorDetector(ConstructorDetector.USE_PROPERTIES_BASED);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** wakeUp
+     목적 : 커밋된 이벤트를 poll-interval까지 기다리지 않고 전달
+     설명 : 이미 깨워둔 전달이 시작하기 전이면 한번만 실행한다.
+     **/
+    public void wakeUp() {
+        if (properties.isRelayEnabled() && wakeUpScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                wakeUpScheduled.set(false);
+                relay();
+            }, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.pollInterval.toMillis()}")
+    public void poll() {
+        relay();
+    }
+
+    /** relay
+     목적 : 아직 전달하지 않은 이벤트를 모두 전달
+     설명 : 다른 스레드가 전달하는 중이면 끝날 때까지 기다린다. 전달한 이벤트 수를 돌려준다. (실패해서 미룬 이벤트는 세지 않는다.)
+     비고 : 전달하지 않는 서버(relay-enabled=false)는 아무것도 하지 않고 0을 돌려준다.
+     **/
+    public int relay() {
+        if (!properties.isRelayEnabled()) {
+            return 0;
+        }
+        relayLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now(); //이번에 실패해서 미룬 이벤트를 다시 집지 않도록 시작한 시간을 기준으로 읽는다.
+            int total = 0;
+            while (true) {
+                AtomicReference<OutboxEvent> current = new AtomicReference<>();
+                try {
+                    Boolean relayed = transactionTemplate.execute(status -> relayNext(startedAt, current));
+                    if (!Boolean.TRUE.equals(relayed)) {
+                        return total;
+                    }
+                    total++;
+                } catch (RuntimeException e) {
+                    if (current.get() == null) {
+                        throw e;
+                    }
+                    retryLater(current.get(), e);
+                }
+            }
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private boolean relayNext(LocalDateTime now, AtomicReference<OutboxEvent> current) {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(now, PageRequest.of(0, 1));
+        if (events.isEmpty()) {
+            return false;
+        }
+        OutboxEvent outboxEvent = events.get(0);
+        current.set(outboxEvent);
+        DomainEvent event = read(outboxEvent);
+        if (event != null) {
+            eventPublisher.publishEvent(event); //리스너가 모두 끝나야 돌아온다. 예외가 나면 이 트랜잭션은 롤백된다.
+            relayedCount.incrementAndGet();
+        }
+        outboxEvent.setPublishedDateTime(LocalDateTime.now());
+        return true;
+    }
+
+    /** retryLater
+     목적 : 리스너가 실패한 이벤트를 나중에 다시 전달
+     설명 : 실패 횟수와 이유를 남기고 다시 전달할 시간을 정한다. max-attempts번 실패했으면 전달한 것으로 표시하고 포기한다.
+     **/
+    private void retryLater(OutboxEvent failed, RuntimeException e) {
+        failedCount.incrementAndGet();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(failed.getId()).ifPresent(outboxEvent -> {
+            int attempts = outboxEvent.getAttempts() + 1;
+            outboxEvent.setAttempts(attempts);
+            outboxEvent.setLastError(abbreviate(e.toString()));
+            if (attempts >= properties.getMaxAttempts()) {
+                outboxEvent.setPublishedDateTime(LocalDateTime.now());
+                log.error("outbox event {} ({}) failed {} times, given up", outboxEvent.getId(), outboxEvent.getType(), attempts, e);
+                return;
+            }
+            Duration delay = retryDelay(attempts);
+            outboxEvent.setNextAttemptDateTime(LocalDateTime.now().plus(delay));
+            log.warn("outbox event {} ({}) failed (attempt {}), retrying in {}", outboxEvent.getId(), outboxEvent.getType(), attempts, delay, e);
+        }));
+    }
+
+    private Duration retryDelay(int attempts) {
+        Duration delay = properties.getRetryDelay().multipliedBy(1L << Math.min(attempts - 1, 20)); //10s, 20s, 40s, ...
+        return delay.compareTo(properties.getMaxRetryDelay()) > 0 ? properties.getMaxRetryDelay() : delay;
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000); //OutboxEvent.lastError 길이
+    }
+
+    private DomainEvent read(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), Class.forName(outboxEvent.getType()).asSubclass(DomainEvent.class));
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("outbox event {} ({}) cannot be read, skipped", outboxEvent.getId(), outboxEvent.getType(), e);
+            return null;
+        }
+    }
+
+    /** deletePublished
+     목적 : 전달한 지 retention이 지난 이벤트 정리
+     **/
+    @Scheduled(cron = "0 0 4 * * *") //매일 새벽 4시
+    public void deletePublished() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        log.info("{} published outbox events deleted", deleted);
+    }
+
+    public long getRelayedCount() {
+        return relayedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
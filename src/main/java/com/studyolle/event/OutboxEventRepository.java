@@ -0,0 +1,34 @@
+package com.studyolle.event;
+
+import com.studyolle.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    //아직 전달하지 않았고 다시 전달할 시간이 된 이벤트를 id 순서로 잠가서 읽는다. 잠긴 이벤트는 건너뛴다. (lock.timeout -2 = SKIP LOCKED)
+    //전달 서버를 잘못 두 대 켰을 때 같은 이벤트를 두 번 전달하지 않게 막을 뿐, 여러 서버가 나눠 전달하는 용도가 아니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.publishedDateTime is null " +
+            "and (e.nextAttemptDateTime is null or e.nextAttemptDateTime <= :now) order by e.id")
+    List<OutboxEvent> findUnpublished(LocalDateTime now, Pageable pageable);
+
+    long countByPublishedDateTimeIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedDateTime < :before")
+    int deletePublishedBefore(LocalDateTime before);
+}
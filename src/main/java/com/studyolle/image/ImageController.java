@@ -0,0 +1,50 @@
+package com.studyolle.image;
+
+import com.studyolle.domain.Image;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** ImageController 이미지 제공 **/
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageRepository imageRepository;
+
+    /** image
+     목적 : 이미지 응답
+     설명 : 저장된 이미지 바이트를 ETag, Cache-Control과 함께 내려준다.
+     비고 : 바이트가 바뀌면 주소의 버전(?v=)도 바뀌므로 오래 캐시해도 된다. 버전은 캐시 키로만 쓰고 여기서는 보지 않는다.
+           브라우저가 같은 ETag를 보내면 바이트를 읽지 않고 304를 응답한다.
+     **/
+    @GetMapping("/images/{id}")
+    public ResponseEntity<byte[]> image(@PathVariable Long id, WebRequest webRequest) {
+        Optional<String> etag = imageRepository.findEtagById(id);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (webRequest.checkNotModified(quoted(etag.get()))) {
+            return null; //304 Not Modified
+        }
+
+        Image image = imageRepository.findById(id).orElseThrow();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(image.getContentType()))
+                .eTag(quoted(image.getEtag()))
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                .body(image.getData());
+    }
+
+    private static String quoted(String etag) {
+        return "\"" + etag + "\"";
+    }
+}
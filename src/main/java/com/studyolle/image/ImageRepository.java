@@ -0,0 +1,15 @@
+package com.studyolle.image;
+
+import com.studyolle.domain.Image;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    @Query("select i.etag from Image i where i.id = :id") //304 응답에는 바이트가 필요 없으므로 etag만 조회
+    Optional<String> findEtagById(Long id);
+}
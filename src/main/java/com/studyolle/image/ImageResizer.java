@@ -0,0 +1,96 @@
+package com.studyolle.image;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+/** ImageResizer 이미지 크기 조절
+ 목적 : 업로드한 이미지를 화면에 필요한 크기로 줄여서 다시 인코딩
+ 설명 : 가로/세로 중 긴 쪽이 size 이하가 되도록 비율을 유지해서 줄인다. 이미 작으면 크기는 그대로 두고 다시 인코딩만 한다.
+ 비고 : 투명도가 있으면 PNG, 없으면 JPEG으로 저장한다.
+       풀기 전에 헤더의 가로/세로를 먼저 읽어서, 작은 파일이 아주 큰 이미지로 풀리는 경우(decompression bomb)를 막는다.
+ **/
+@Component
+public class ImageResizer {
+
+    static final long MAX_PIXELS = 25_000_000; //5000x5000. 풀면 픽셀당 4바이트이므로 100MB
+
+    /** resize
+     목적 : 이미지 줄이기
+     설명 : 읽을 수 없거나 MAX_PIXELS보다 큰 이미지면 IllegalArgumentException
+     **/
+    public Resized resize(byte[] data, int size) {
+        BufferedImage source = read(data);
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        String format = alpha ? "png" : "jpeg";
+        return new Resized("image/" + format, write(target, format), width, height);
+    }
+
+    private static BufferedImage read(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("이미지를 읽을 수 없습니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0); //헤더만 읽는다.
+                if (pixels > MAX_PIXELS) {
+                    throw new IllegalArgumentException("이미지가 너무 큽니다: " + reader.getWidth(0) + "x" + reader.getHeight(0));
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static byte[] write(BufferedImage image, String format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, format, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Resized {
+
+        private final String contentType;
+        private final byte[] data;
+        private final int width;
+        private final int height;
+    }
+}
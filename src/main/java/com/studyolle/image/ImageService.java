@@ -0,0 +1,127 @@
+package com.studyolle.image;
+
+import com.studyolle.domain.Image;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** ImageService 이미지 저장
+ 목적 : 화면에서 올린 data URL 이미지를 바이너리로 바꿔 Image 테이블에 저장
+ 설명 : Account, Study에는 저장한 이미지의 주소("/images/{id}")만 남긴다.
+ **/
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ImageService {
+
+    private static final Pattern DATA_URL = Pattern.compile("^data:(image/(?:png|jpeg|gif));base64,(.+)$", Pattern.DOTALL); //ImageIO로 읽을 수 있는 형식만 받는다.
+    private static final Pattern IMAGE_URL = Pattern.compile("^/images/(\\d+)(?:\\?v=\\w+)?$"); //바이트를 바꾼 이미지는 주소 뒤에 버전이 붙는다.
+
+    private final ImageRepository imageRepository;
+
+    /** replace
+     목적 : 이미지 교체
+     설명 : 폼에서 넘어온 값(submitted)에 따라 새로 저장할 이미지 주소를 정한다.
+           data URL이면 새 이미지로 저장하고, 비어 있으면 이미지를 지우고, 그 외에는 기존 이미지(current)를 유지한다.
+     비고 : 바뀐 경우 이전 이미지는 삭제한다.
+     **/
+    public String replace(String current, String submitted) {
+        if (submitted != null && submitted.equals(current)) {
+            return current;
+        }
+
+        String replaced;
+        if (submitted == null || submitted.isBlank()) {
+            replaced = null;
+        } else if (isDataUrl(submitted)) {
+            replaced = store(submitted).getUrl();
+        } else {
+            log.warn("ignored image value that is neither a data URL nor the current image");
+            return current;
+        }
+
+        delete(current);
+        return replaced;
+    }
+
+    /** store
+     목적 : data URL 저장
+     설명 : "data:image/png;base64,..." 형식을 디코딩해 저장한다. 형식이 틀리거나 MAX_SIZE를 넘으면 IllegalArgumentException
+     **/
+    public Image store(String dataUrl) {
+        Matcher matcher = DATA_URL.matcher(dataUrl);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("이미지 data URL 형식이 아닙니다.");
+        }
+
+        byte[] data = Base64.getMimeDecoder().decode(matcher.group(2));
+        if (data.length == 0 || data.length > Image.MAX_SIZE) {
+            throw new IllegalArgumentException("이미지 크기가 올바르지 않습니다: " + data.length + " bytes");
+        }
+
+        return save(matcher.group(1), data);
+    }
+
+    /** save
+     목적 : 바이트 저장
+     설명 : 이미 디코딩한 이미지 바이트를 저장한다.
+     **/
+    public Image save(String contentType, byte[] data) {
+        Image image = Image.builder()
+                .contentType(contentType)
+                .data(data)
+                .etag(sha256(data))
+                .createdAt(LocalDateTime.now())
+                .build();
+        return imageRepository.save(image);
+    }
+
+    /** delete
+     목적 : 이미지 삭제
+     설명 : "/images/{id}" 주소가 가리키는 이미지를 지운다. 다른 주소이거나 null이면 무시
+     **/
+    public void delete(String url) {
+        Long id = idOf(url);
+        if (id != null && imageRepository.existsById(id)) {
+            imageRepository.deleteById(id);
+        }
+    }
+
+    /** versionedUrl
+     목적 : 바이트를 바꾼 이미지의 새 주소
+     설명 : "/images/{id}?v={etag 앞 8자리}". 이미지는 1년 동안 캐시되므로 같은 행의 바이트를 바꾸면 주소도 바꿔야 새 이미지를 받는다.
+     **/
+    public static String versionedUrl(Image image) {
+        return image.getUrl() + "?v=" + image.getEtag().substring(0, 8);
+    }
+
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:");
+    }
+
+    static Long idOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = IMAGE_URL.matcher(url);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
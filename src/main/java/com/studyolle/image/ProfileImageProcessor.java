@@ -0,0 +1,64 @@
+package com.studyolle.image;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.UserDetailsCache;
+import com.studyolle.config.AsyncConfig;
+import com.studyolle.config.ImageProperties;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Image;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/** ProfileImageProcessor 프로필 이미지 변환
+ 목적 : 사용자가 올린 원본 이미지를 화면에 필요한 크기로 줄여서 DB에 큰 이미지를 남기지 않기 위해서
+ 설명 : 원본을 프로필 크기(app.image.profile-size)로 줄여 같은 행에 덮어쓰고, 상단 메뉴용 아바타(app.image.avatar-size)를 따로 만든다.
+       이미지는 1년 동안 캐시되므로 프로필 이미지 주소는 버전을 붙인 새 주소("/images/{id}?v=...")로 바꾼다.
+ 비고 : 이미지 변환 스레드(imageTaskExecutor)에서 실행된다. 읽을 수 없거나 너무 큰 이미지면 지우고 프로필 이미지를 비운다.
+       행은 그대로이므로 이미 로그인한 세션(UserAccount)이 들고 있는 예전 주소도 계속 열린다.
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileImageProcessor {
+
+    private final AccountRepository accountRepository;
+    private final ImageRepository imageRepository;
+    private final ImageService imageService;
+    private final ImageResizer imageResizer;
+    private final ImageProperties imageProperties;
+    private final UserDetailsCache userDetailsCache;
+
+    @Async(AsyncConfig.IMAGE_TASK_EXECUTOR)
+    @Transactional
+    public void process(Long accountId, String imageUrl) {
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null || !imageUrl.equals(account.getProfileImage())) {
+            return; //그 사이에 다른 이미지로 바뀌었다.
+        }
+        Image image = imageRepository.findById(ImageService.idOf(imageUrl)).orElse(null);
+        if (image == null) {
+            return;
+        }
+
+        try {
+            int originalSize = image.getData().length;
+            ImageResizer.Resized profile = imageResizer.resize(image.getData(), imageProperties.getProfileSize());
+            ImageResizer.Resized avatar = imageResizer.resize(image.getData(), imageProperties.getAvatarSize());
+
+            image.setContentType(profile.getContentType());
+            image.setData(profile.getData());
+            image.setEtag(ImageService.sha256(profile.getData()));
+            account.setProfileImage(ImageService.versionedUrl(image)); //예전 주소로 캐시된 원본 대신 새 바이트를 받도록
+            account.setProfileImageThumbnail(imageService.save(avatar.getContentType(), avatar.getData()).getUrl());
+            log.info("profile image of account {} resized: {} -> {} bytes", accountId, originalSize, profile.getData().length);
+        } catch (IllegalArgumentException e) {
+            log.warn("account {} uploaded an unreadable profile image: {}", accountId, e.getMessage());
+            imageRepository.delete(image);
+            account.setProfileImage(null);
+        }
+        userDetailsCache.evict(account); //로그인할 때 새 아바타 주소를 쓰도록
+    }
+}
@@ -0,0 +1,241 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.EmailDispatchProperties;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/** AsyncEmailService 비동기 메일 발송
+ 목적 : 회원가입/로그인 요청이 SMTP 응답을 기다리지 않도록 메일 발송을 요청 스레드에서 분리
+ 설명 : 메일은 트랜잭션 커밋 후 크기가 제한된 대기열에 들어가고, 워커 스레드가 짧은 시간 동안 모아서 실제 EmailService(Console/Html)로 발송한다.
+ 비고 : 대기열이 가득 차면 요청 스레드에서 직접 발송한다.(backpressure)
+ **/
+@Slf4j
+@Primary
+@Component
+public class AsyncEmailService implements EmailService, MeterBinder {
+
+    private final EmailService delivery; //실제로 메일을 보내는 구현체 (ConsoleEmailService 또는 HtmlEmailService)
+    private final EmailDispatchProperties properties;
+    private final BlockingQueue<PendingEmail> queue;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private volatile Timer deliveryTimer; //대기열에 들어간 시점부터 발송 완료까지. 지표 등록 전에는 null
+
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public AsyncEmailService(@Qualifier(EmailService.DELIVERY) EmailService delivery, EmailDispatchProperties properties) {
+        this.delivery = delivery;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /** bindTo
+     목적 : 메일 발송 지표 등록 (/actuator/prometheus)
+     설명 : 대기열 길이, 발송/실패/거절 수, 대기열에 들어간 뒤 발송까지 걸린 시간(히스토그램)
+     비고 : MeterRegistry를 생성자로 받으면 지표 등록과 빈 생성이 서로를 기다리므로 MeterBinder로 등록한다.
+     **/
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("studyolle.email.queue.depth", this, AsyncEmailService::getQueueDepth)
+                .description("발송을 기다리는 메일 수").register(registry);
+        FunctionCounter.builder("studyolle.email.sent", this, AsyncEmailService::getSentCount).register(registry);
+        FunctionCounter.builder("studyolle.email.failed", this, AsyncEmailService::getFailedCount).register(registry);
+        FunctionCounter.builder("studyolle.email.rejected", this, AsyncEmailService::getRejectedCount)
+                .description("대기열이 가득 차서 요청 스레드에서 보낸 메일 수").register(registry);
+        deliveryTimer = Timer.builder("studyolle.email.delivery")
+                .description("메일이 대기열에 들어간 뒤 발송이 끝날 때까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** start
+     목적 : 워커 스레드 시작
+     설명 : 설정한 개수(app.mail.worker-count)만큼 대기열을 비우는 워커를 띄운다.
+     **/
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(properties.getWorkerCount(), runnable -> {
+            Thread thread = new Thread(runnable, "email-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < properties.getWorkerCount(); i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    /** stop
+     목적 : 워커 종료
+     설명 : 워커를 멈추고, 대기열에 남은 메일은 종료 스레드에서 마저 보낸다.
+     **/
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+
+        List<PendingEmail> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            deliver(remaining);
+        }
+    }
+
+    /** sendEmail
+     목적 : 메일 발송 요청
+     설명 : 트랜잭션 안이면 커밋된 뒤에 대기열에 넣는다. 롤백되면 메일은 나가지 않는다.
+     **/
+    @Timed(value = "studyolle.email.send", histogram = true, description = "메일 발송 요청 시간 (대기열에 넣기까지)")
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(emailMessage);
+                }
+            });
+            return;
+        }
+
+        enqueue(emailMessage);
+    }
+
+    private void enqueue(EmailMessage emailMessage) {
+        PendingEmail pending = new PendingEmail(emailMessage, System.nanoTime());
+        try {
+            if (running && queue.offer(pending, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        rejectedCount.incrementAndGet(); //대기열이 가득 찼으므로 요청 스레드에서 직접 보낸다.
+        log.warn("email queue is full (depth={}), sending on caller thread", queue.size());
+        deliver(pending);
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    deliver(collectBatch(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** collectBatch
+     목적 : 메일 묶기
+     설명 : 첫 메일이 들어온 뒤 app.mail.batch-window 동안 app.mail.batch-size까지 메일을 더 모은다.
+     비고 : 가입이 몰릴 때 SMTP 연결 하나로 여러 통을 보내기 위해서
+     **/
+    private List<PendingEmail> collectBatch(PendingEmail first) throws InterruptedException {
+        List<PendingEmail> batch = new ArrayList<>();
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getBatchWindow().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            PendingEmail next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void deliver(PendingEmail pending) {
+        deliver(List.of(pending));
+    }
+
+    private void deliver(List<PendingEmail> batch) {
+        List<EmailMessage> emailMessages = batch.stream().map(PendingEmail::getEmailMessage).collect(Collectors.toList());
+        int failed = 0;
+        try {
+            if (batch.size() == 1) {
+                delivery.sendEmail(emailMessages.get(0));
+            } else {
+                failed = delivery.sendEmails(emailMessages).size(); //실패한 메일은 delivery 쪽에서 한 통씩 로그를 남긴다.
+            }
+        } catch (RuntimeException e) {
+            failed = batch.size();
+            log.error("failed to send {} emails", batch.size(), e);
+        }
+
+        sentCount.addAndGet(batch.size() - failed);
+        failedCount.addAndGet(failed);
+        long now = System.nanoTime();
+        for (PendingEmail pending : batch) {
+            long latency = now - pending.getEnqueuedAt(); //대기열에 들어간 시점부터 발송 완료까지
+            totalLatencyNanos.addAndGet(latency);
+            Timer timer = deliveryTimer;
+            if (timer != null) {
+                timer.record(latency, TimeUnit.NANOSECONDS);
+            }
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public double getAverageLatencyMillis() {
+        long delivered = sentCount.get() + failedCount.get();
+        return delivered == 0 ? 0 : totalLatencyNanos.get() / 1_000_000.0 / delivered;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+}
@@ -1,12 +1,14 @@
 package com.studyolle.mail;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Profile("local")
 @Component
+@Qualifier(EmailService.DELIVERY)
 public class ConsoleEmailService implements EmailService{
 
     @Override
@@ -1,6 +1,28 @@
 package com.studyolle.mail;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmailService {
 
+    String DELIVERY = "emailDelivery"; //실제 발송 구현체(Console/Html)에 붙는 @Qualifier 이름
+
     void sendEmail(EmailMessage emailMessage);
+
+    /** sendEmails
+     목적 : 여러 메일 한번에 발송
+     설명 : 보내지 못한 메일 목록을 반환한다. 기본 구현은 한 통씩 보낸다.
+     비고 : HtmlEmailService는 SMTP 연결 하나로 묶어서 보낸다.
+     **/
+    default List<EmailMessage> sendEmails(List<EmailMessage> emailMessages) {
+        List<EmailMessage> failed = new ArrayList<>();
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                sendEmail(emailMessage);
+            } catch (RuntimeException e) {
+                failed.add(emailMessage);
+            }
+        }
+        return failed;
+    }
 }
@@ -2,18 +2,27 @@ package com.studyolle.mail;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Profile("dev")
 @Component
+@Qualifier(EmailService.DELIVERY)
 @RequiredArgsConstructor
 public class HtmlEmailService implements EmailService {
 
@@ -27,18 +36,71 @@ public class HtmlEmailService implements EmailService {
     private final JavaMailSender javaMailSender;
 
 
+    /** sendEmail
+     목적 : 메일 한 통 발송
+     비고 : 메일을 만들 수 없으면(잘못된 주소 등) MailPreparationException을 던져서 AsyncEmailService가 실패로 센다.
+     **/
     @Override
     public void sendEmail(EmailMessage emailMessage) {
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessage mimeMessage;
         try {
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            mimeMessageHelper.setTo(emailMessage.getTo());
-            mimeMessageHelper.setSubject(emailMessage.getSubject());
-            mimeMessageHelper.setText(emailMessage.getMessage(), true); //html로 보낼수 있게 만드는 설정
-            javaMailSender.send(mimeMessage);
-            log.info("sent email: {}", emailMessage.getMessage());
+            mimeMessage = createMimeMessage(emailMessage);
         } catch (MessagingException e) {
-            log.error("failed to send email", e);
+            throw new MailPreparationException("failed to build email to " + emailMessage.getTo(), e);
+        }
+        javaMailSender.send(mimeMessage);
+        log.info("sent email: {}", emailMessage.getMessage());
+    }
+
+    /** sendEmails
+     목적 : 메일 묶음 발송
+     설명 : javaMailSender.send(MimeMessage...)는 SMTP 연결(connect/STARTTLS/AUTH)을 한번만 맺고 모든 메일을 보낸다.
+     비고 : 실패한 메일은 MailSendException.getFailedMessages()로 받아서 한 통씩 기록한다.
+     **/
+    @Override
+    public List<EmailMessage> sendEmails(List<EmailMessage> emailMessages) {
+        List<EmailMessage> failed = new ArrayList<>();
+        Map<MimeMessage, EmailMessage> sources = new IdentityHashMap<>(); //MimeMessage -> 원본 EmailMessage
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                sources.put(createMimeMessage(emailMessage), emailMessage);
+            } catch (MessagingException e) {
+                log.error("failed to build email to {}", emailMessage.getTo(), e);
+                failed.add(emailMessage);
+            }
+        }
+
+        if (sources.isEmpty()) {
+            return failed;
         }
+
+        try {
+            javaMailSender.send(sources.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> {
+                EmailMessage emailMessage = sources.get(message);
+                log.error("failed to send email to {}", emailMessage.getTo(), exception);
+                failed.add(emailMessage);
+            });
+            if (e.getFailedMessages().isEmpty()) { //연결 자체가 실패하면 전부 실패로 본다.
+                log.error("failed to send {} emails", sources.size(), e);
+                failed.addAll(sources.values());
+            }
+        } catch (MailException e) {
+            log.error("failed to send {} emails", sources.size(), e);
+            failed.addAll(sources.values());
+        }
+
+        log.info("sent {} of {} emails in one SMTP session", emailMessages.size() - failed.size(), emailMessages.size());
+        return failed;
+    }
+
+    private MimeMessage createMimeMessage(EmailMessage emailMessage) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(emailMessage.getTo());
+        mimeMessageHelper.setSubject(emailMessage.getSubject());
+        mimeMessageHelper.setText(emailMessage.getMessage(), true); //html로 보낼수 있게 만드는 설정
+        return mimeMessage;
     }
 }
@@ -0,0 +1,15 @@
+package com.studyolle.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** PendingEmail 발송 대기열에 들어간 메일 **/
+@Getter
+@RequiredArgsConstructor
+class PendingEmail {
+
+    private final EmailMessage emailMessage;
+
+    private final long enqueuedAt; //대기열에 들어간 시각 (System.nanoTime)
+
+}
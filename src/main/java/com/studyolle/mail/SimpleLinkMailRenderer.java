@@ -0,0 +1,134 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** SimpleLinkMailRenderer mail/simple-link 메일 본문 렌더링
+ 목적 : 메일마다 TemplateEngine으로 템플릿을 다시 처리하지 않기 위해서
+ 설명 : 처음 한번만 변수 자리에 표시(%%SLOT_이름%%)를 넣어 렌더링하고, 고정된 HTML 조각과 변수 자리로 나눠서 보관한다.
+       이후에는 조각 사이에 escape한 변수 값만 이어 붙인다.
+ 비고 : host는 바뀌지 않는 값이므로 고정 조각에 미리 넣어둔다.
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimpleLinkMailRenderer {
+
+    static final String TEMPLATE = "mail/simple-link";
+
+    private static final Pattern SLOT = Pattern.compile("%%SLOT_(\\w+)%%");
+    private static final List<String> VARIABLES = List.of("nickname", "message", "link", "linkName");
+
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    private volatile CompiledTemplate compiled;
+
+    /** render
+     목적 : 링크 메일 본문 생성
+     설명 : 닉네임, 안내 문구, 링크(host 뒤 경로), 링크 이름으로 메일 본문 html을 만든다.
+     비고 : 템플릿이 예상과 다르게 바뀌어 조각으로 나눌 수 없으면 TemplateEngine으로 처리한다.
+     **/
+    public String render(String nickname, String message, String link, String linkName) {
+        CompiledTemplate template = compiled();
+        if (template == null) {
+            return templateEngine.process(TEMPLATE, context(nickname, message, link, linkName));
+        }
+
+        StringBuilder html = new StringBuilder(template.length);
+        for (int i = 0; i < template.slots.size(); i++) {
+            html.append(template.fragments.get(i));
+            String value = valueOf(template.slots.get(i), nickname, message, link, linkName);
+            if (value != null) { //타임리프처럼 null은 빈 문자열로 출력
+                html.append(HtmlEscape.escapeHtml4Xml(value));
+            }
+        }
+        html.append(template.fragments.get(template.slots.size()));
+        return html.toString();
+    }
+
+    private CompiledTemplate compiled() {
+        CompiledTemplate template = compiled;
+        if (template == null) {
+            synchronized (this) {
+                if (compiled == null) {
+                    compiled = compile();
+                }
+                template = compiled;
+            }
+        }
+        return template.fragments.isEmpty() ? null : template;
+    }
+
+    private CompiledTemplate compile() {
+        String html = templateEngine.process(TEMPLATE, context(
+                slot("nickname"), slot("message"), slot("link"), slot("linkName")));
+
+        List<String> fragments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        Matcher matcher = SLOT.matcher(html);
+        int last = 0;
+        while (matcher.find()) {
+            fragments.add(html.substring(last, matcher.start()));
+            slots.add(matcher.group(1));
+            last = matcher.end();
+        }
+        fragments.add(html.substring(last));
+
+        if (!slots.containsAll(VARIABLES) || !VARIABLES.containsAll(slots)) {
+            log.warn("{} does not match expected variables {}, falling back to TemplateEngine", TEMPLATE, VARIABLES);
+            return new CompiledTemplate(List.of(), List.of(), 0);
+        }
+        return new CompiledTemplate(fragments, slots, html.length());
+    }
+
+    private Context context(String nickname, String message, String link, String linkName) {
+        Context context = new Context(); //Map 클래스와 같다고 생각하면 된다. (templateEngine)
+        context.setVariable("link", link);
+        context.setVariable("nickname", nickname);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost()); //app.host=http://localhost:8080 (application.properties파일에 정의)
+        return context;
+    }
+
+    private static String slot(String name) {
+        return "%%SLOT_" + name + "%%";
+    }
+
+    private static String valueOf(String slot, String nickname, String message, String link, String linkName) {
+        switch (slot) {
+            case "nickname":
+                return nickname;
+            case "message":
+                return message;
+            case "link":
+                return link;
+            default:
+                return linkName;
+        }
+    }
+
+    private static class CompiledTemplate {
+
+        private final List<String> fragments; //고정된 html 조각. 변수 자리보다 항상 하나 많다.
+        private final List<String> slots; //조각 사이에 들어갈 변수 이름
+        private final int length;
+
+        private CompiledTemplate(List<String> fragments, List<String> slots, int length) {
+            this.fragments = fragments;
+            this.slots = slots;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.studyolle.monitoring;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/** EntityLoadInterceptor 엔티티 로딩 수 측정
+ 목적 : 쿼리 수는 적어도 한번에 엔티티를 너무 많이 읽는 화면을 찾기 위해서
+ 설명 : 하이버네이트가 엔티티를 DB에서 읽어 만들 때마다 QueryStats에 올린다. (영속성 컨텍스트에서 꺼낸 것은 세지 않는다.)
+ **/
+public class EntityLoadInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryStats.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.studyolle.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/** QueryCountingDataSource JDBC 문장 수/시간 측정
+ 목적 : 하이버네이트, JdbcTemplate 어느 쪽으로 실행하든 DB 왕복 수와 시간을 세기 위해서
+ 설명 : 커넥션과 Statement를 프록시로 감싸 execute* 호출마다 걸린 시간을 QueryStats에 올린다.
+ 비고 : executeBatch는 DB 왕복 한번이므로 1개로 센다. QueryStats가 세고 있는 구간(컨트롤러 ~ 뷰 렌더링)의 문장만 올라간다.
+ **/
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement) {
+                return statement(method.getReturnType(), (Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private static Object statement(Class<?> type, Statement statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                QueryStats.statementExecuted(System.nanoTime() - start);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException(); //SQLException 등 원래 예외 그대로
+        }
+    }
+}
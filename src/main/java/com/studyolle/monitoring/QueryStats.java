@@ -0,0 +1,116 @@
+package com.studyolle.monitoring;
+
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/** QueryStats 요청별 쿼리 통계
+ 목적 : SQL 로그(TRACE) 없이도 화면마다 쿼리가 몇 번 나가는지(N+1) 확인하기 위해서
+ 설명 : 요청 스레드마다 실행한 JDBC 문장 수, DB 시간, 엔티티 로딩 수를 세고,
+       요청이 끝나면 컨트롤러 메서드(예: SettingsController.updateTags)별로 합산한다.
+ 비고 : 카운트는 QueryCountingDataSource(JDBC), EntityLoadInterceptor(하이버네이트)가 올린다.
+       요청 스레드가 아닌 곳(메일/이미지 스레드, 스케줄러)의 쿼리는 세지 않는다.
+       컨트롤러 실행 전(preHandle)부터 뷰 렌더링 후(afterCompletion)까지만 세므로, 그 바깥의 필터에서 나가는 쿼리
+       (Spring Session이 세션을 읽고 저장하는 SessionRepositoryFilter, remember-me 자동 로그인 등)는 들어가지 않는다.
+ **/
+@Component
+public class QueryStats {
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+
+    static void statementExecuted(long nanos) {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.nanos += nanos;
+        }
+    }
+
+    static void entityLoaded() {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.entityLoads++;
+        }
+    }
+
+    void begin() {
+        CURRENT.set(new Counter());
+    }
+
+    Counter current() {
+        return CURRENT.get();
+    }
+
+    void end(String handler) {
+        Counter counter = CURRENT.get();
+        CURRENT.remove();
+        if (counter != null) {
+            handlers.computeIfAbsent(handler, key -> new HandlerStats()).add(counter);
+        }
+    }
+
+    /** summary
+     목적 : 통계 조회
+     설명 : 컨트롤러 메서드별 통계를 요청당 평균 SQL 수가 많은 순서로 반환
+     **/
+    public List<Summary> summary() {
+        return handlers.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingDouble(Summary::getAverageStatements).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        handlers.clear();
+    }
+
+    static class Counter { //한 요청 스레드 안에서만 쓰므로 동기화하지 않는다.
+
+        int statements;
+        long nanos;
+        int entityLoads;
+    }
+
+    private static class HandlerStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        private void add(Counter counter) {
+            requests.increment();
+            statements.add(counter.statements);
+            nanos.add(counter.nanos);
+            entityLoads.add(counter.entityLoads);
+            maxStatements.accumulateAndGet(counter.statements, Math::max);
+        }
+
+        private Summary summary(String handler) {
+            long count = Math.max(1, requests.sum());
+            return new Summary(handler, requests.sum(), (double) statements.sum() / count, maxStatements.get(),
+                    nanos.sum() / 1_000_000.0 / count, (double) entityLoads.sum() / count);
+        }
+    }
+
+    @Value
+    public static class Summary {
+
+        String handler;
+        long requests;
+        double averageStatements;
+        long maxStatements;
+        double averageDbMillis;
+        double averageEntityLoads;
+    }
+}
@@ -0,0 +1,26 @@
+package com.studyolle.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/** QueryStatsController 쿼리 통계 조회 **/
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.query-stats.enabled", matchIfMissing = true)
+public class QueryStatsController {
+
+    private final QueryStats queryStats;
+
+    /** queryStats
+     목적 : 컨트롤러 메서드별 쿼리 통계
+     설명 : 요청 수, 요청당 평균/최대 SQL 수, 평균 DB 시간, 평균 엔티티 로딩 수를 JSON으로 반환
+     **/
+    @GetMapping("/query-stats")
+    public List<QueryStats.Summary> queryStats() {
+        return queryStats.summary();
+    }
+}
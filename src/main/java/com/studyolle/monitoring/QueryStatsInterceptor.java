@@ -0,0 +1,50 @@
+package com.studyolle.monitoring;
+
+import com.studyolle.config.QueryStatsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** QueryStatsInterceptor 요청 단위 집계
+ 목적 : 컨트롤러 메서드마다 쿼리 통계를 모으기 위해서
+ 설명 : 컨트롤러 실행 전에 카운트를 시작하고, 뷰 렌더링까지 끝나면 "컨트롤러.메서드" 이름으로 QueryStats에 합산한다.
+ 비고 : 응답 헤더(X-Query-Count, X-Query-Time)는 응답이 나가기 전에 써야 하므로 컨트롤러 실행까지의 값이다.
+ **/
+@RequiredArgsConstructor
+public class QueryStatsInterceptor implements HandlerInterceptor {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+    private final QueryStats queryStats;
+    private final QueryStatsProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            queryStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        QueryStats.Counter counter = queryStats.current();
+        if (properties.isResponseHeader() && counter != null && !response.isCommitted()) {
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(counter.statements));
+            response.setHeader(QUERY_TIME_HEADER, String.format("%.3fms", counter.nanos / 1_000_000.0));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            queryStats.end(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.CurrentAccount;
+import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    /** getNotifications
+     목적 : 알림 목록
+     설명 : 최근 알림부터 한 페이지씩 보여주고, 보여준 알림은 읽음으로 바꾼다.
+     호출 : 상단 메뉴의 알림(종 모양) 클릭
+     **/
+    @GetMapping("/notifications")
+    public String getNotifications(@CurrentAccount Account account, @RequestParam(defaultValue = "0") int page, Model model) {
+        model.addAttribute(account);
+        model.addAttribute("notifications", notificationService.getNotifications(account.getId(), Math.max(page, 0)));
+        return "notification/list";
+    }
+}
@@ -0,0 +1,51 @@
+package com.studyolle.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyolle.config.NotificationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/** NotificationCountCache 읽지 않은 알림 수 캐시
+ 목적 : 상단 메뉴의 알림 표시 때문에 모든 화면마다 알림 수를 세지 않기 위해서
+ 설명 : 계정 id로 읽지 않은 알림 수를 담아둔다. 알림이 추가되거나 읽으면 지운다.
+ 비고 : 트랜잭션 안이면 커밋 전에 다른 요청이 예전 값을 다시 담을 수 있으므로 트랜잭션이 끝난 뒤에 한번 더 지운다.
+       지우는 것은 이 서버의 캐시뿐이므로, 서버가 여럿이면 다른 서버의 값은 count-cache-ttl이 지나야 맞춰진다.
+ **/
+@Component
+public class NotificationCountCache {
+
+    private final Cache<Long, Long> cache;
+
+    public NotificationCountCache(NotificationProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCountCacheSize())
+                .expireAfterWrite(properties.getCountCacheTtl())
+                .build();
+    }
+
+    public long get(Long accountId, Function<Long, Long> loader) {
+        return cache.get(accountId, loader);
+    }
+
+    public void evict(Long accountId) {
+        evictAll(List.of(accountId));
+    }
+
+    public void evictAll(Collection<Long> accountIds) {
+        cache.invalidateAll(accountIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(accountIds);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.AccountInterestIndex;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.AccountRepository.StudyCreatedRecipient;
+import com.studyolle.config.NotificationProperties;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Notification;
+import com.studyolle.domain.NotificationType;
+import com.studyolle.mail.EmailMessage;
+import com.studyolle.mail.EmailService;
+import com.studyolle.mail.SimpleLinkMailRenderer;
+import com.studyolle.study.StudyCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/** NotificationFanOut 알림 나눠주기
+ 목적 : 수신자가 수만 명이어도 스터디를 만든 요청이 기다리지 않고, 알림을 한 건씩 INSERT하지 않기 위해서
+ 설명 : 스터디 개설 이벤트가 outbox로 전달되면 전달 스레드에서 AccountInterestIndex로 관심있을 계정 id를 구하고, id 순서로 batch-size씩 읽는다.
+       웹 알림을 켠 계정은 한 트랜잭션에 모아 저장하고(JDBC 배치), 이메일 알림을 켠 계정은 메일 대기열에 넣는다.
+ 비고 : 알림 엔티티는 계정을 읽지 않고 getReference로 id만 연결한다. 저장한 뒤 수신자의 읽지 않은 알림 수 캐시를 지운다.
+       알림 저장은 새 트랜잭션(REQUIRES_NEW)에서 바로 커밋한다. 메일은 전달 트랜잭션이 커밋되어야 대기열에 들어간다.
+       중간에 실패해서 이벤트가 다시 전달되면, 저장했던 알림은 남고 메일은 보내지 않았으므로
+       이미 같은 스터디 개설 알림이 있는 계정에는 알림만 다시 만들지 않고 메일은 다시 보낸다.
+ **/
+@Slf4j
+@Component
+public class NotificationFanOut {
+
+    private final AccountRepository accountRepository;
+    private final NotificationRepository notificationRepository;
+    private final AccountInterestIndex accountInterestIndex;
+    private final NotificationCountCache notificationCountCache;
+    private final NotificationProperties properties;
+    private final EntityManager entityManager;
+    private final EmailService emailService;
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer;
+    private final TransactionTemplate transactionTemplate;
+
+    public NotificationFanOut(AccountRepository accountRepository, NotificationRepository notificationRepository,
+                              AccountInterestIndex accountInterestIndex,
+                              NotificationCountCache notificationCountCache,
+                              NotificationProperties properties, EntityManager entityManager, EmailService emailService,
+                              SimpleLinkMailRenderer simpleLinkMailRenderer, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.notificationRepository = notificationRepository;
+        this.accountInterestIndex = accountInterestIndex;
+        this.notificationCountCache = notificationCountCache;
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.emailService = emailService;
+        this.simpleLinkMailRenderer = simpleLinkMailRenderer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        //전달(relay) 트랜잭션에 참여하지 않고 배치마다 바로 커밋한다.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** handleStudyCreated
+     목적 : 스터디 개설 알림
+     설명 : 스터디의 관심 주제와 활동 지역이 겹치는 계정에게 알림 설정(웹/이메일)에 따라 알린다.
+           스터디에 태그나 지역 한쪽만 있으면 그 쪽만 겹치면 된다.
+     **/
+    @EventListener //DomainEventRelay가 전달한 것만. 끝나야 전달한 것으로 표시한다.
+    public void handleStudyCreated(StudyCreatedEvent event) {
+        if (event.getTagIds().isEmpty() && event.getZoneIds().isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Roaring64NavigableMap interested = accountInterestIndex.findInterested(event.getTagIds(), event.getZoneIds());
+        String link = "/study/" + URLEncoder.encode(event.getPath(), StandardCharsets.UTF_8);
+
+        int webCount = 0;
+        int emailCount = 0;
+        LongIterator accountIds = interested.getLongIterator(); //id 오름차순
+        List<Long> batch = new ArrayList<>(properties.getBatchSize());
+        while (accountIds.hasNext()) {
+            batch.add(accountIds.next());
+            if (batch.size() < properties.getBatchSize() && accountIds.hasNext()) {
+                continue;
+            }
+
+            List<Long> webRecipientIds = new ArrayList<>();
+            Set<Long> notified = notificationRepository.findNotifiedAccountIds(link, NotificationType.STUDY_CREATED, batch); //다시 전달된 경우
+            for (StudyCreatedRecipient recipient : accountRepository.findStudyCreatedRecipientsByIdIn(batch)) {
+                if (recipient.isStudyCreatedByWeb() && !notified.contains(recipient.getId())) {
+                    webRecipientIds.add(recipient.getId());
+                }
+                if (recipient.isStudyCreatedByEmail()) {
+                    sendEmail(recipient, event, link);
+                    emailCount++;
+                }
+            }
+            saveNotifications(webRecipientIds, event, link);
+            notificationCountCache.evictAll(webRecipientIds);
+            webCount += webRecipientIds.size();
+            batch.clear();
+        }
+        log.info("study {} created: {} interested accounts, {} web notifications, {} emails in {} ms",
+                event.getPath(), interested.getLongCardinality(), webCount, emailCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void saveNotifications(List<Long> accountIds, StudyCreatedEvent event, String link) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long accountId : accountIds) {
+                entityManager.persist(Notification.builder()
+                        .title(event.getTitle())
+                        .link(link)
+                        .message(event.getShortDescription())
+                        .account(entityManager.getReference(Account.class, accountId)) //계정을 조회하지 않고 id만 연결
+                        .createdDateTime(now)
+                        .notificationType(NotificationType.STUDY_CREATED)
+                        .build());
+            }
+            entityManager.flush(); //hibernate.jdbc.batch_size씩 묶어서 INSERT
+            entityManager.clear();
+        });
+    }
+
+    private void sendEmail(StudyCreatedRecipient recipient, StudyCreatedEvent event, String link) {
+        String message = simpleLinkMailRenderer.render(recipient.getNickname(),
+                "관심있는 주제나 지역에 새로운 스터디가 생겼습니다.", link, event.getTitle());
+
+        emailService.sendEmail(EmailMessage.builder()
+                .to(recipient.getEmail())
+                .subject("스터디올래, '" + event.getTitle() + "' 스터디가 생겼습니다.")
+                .message(message)
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.studyolle.notification;
+
+import com.studyolle.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.view.RedirectView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/** NotificationInterceptor 상단 메뉴 알림 표시
+ 목적 : 화면마다 컨트롤러에서 알림 수를 넣지 않아도 상단 메뉴(fragments.html)에 읽지 않은 알림 수를 보여주기 위해서
+ 설명 : 로그인한 사용자의 화면(뷰)이면 unreadNotificationCount를 모델에 넣는다. 리다이렉트, json 응답은 건너뛴다.
+ 비고 : 알림 수는 NotificationCountCache에서 꺼내므로 보통은 쿼리가 없다.
+ **/
+@RequiredArgsConstructor
+public class NotificationInterceptor implements HandlerInterceptor {
+
+    public static final String UNREAD_NOTIFICATION_COUNT = "unreadNotificationCount";
+
+    private final NotificationService notificationService;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (modelAndView == null || isRedirect(modelAndView)) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserAccount) {
+            Long accountId = ((UserAccount) authentication.getPrincipal()).getId();
+            modelAndView.addObject(UNREAD_NOTIFICATION_COUNT, notificationService.getUnreadCount(accountId));
+        }
+    }
+
+    private static boolean isRedirect(ModelAndView modelAndView) {
+        String viewName = modelAndView.getViewName();
+        return (viewName != null && viewName.startsWith("redirect:")) || modelAndView.getView() instanceof RedirectView;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyolle.notification;
+
+import com.studyolle.domain.Notification;
+import com.studyolle.domain.NotificationType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    @Query("select count(n) from Notification n where n.account.id = :accountId and n.checked = false")
+    long countUnchecked(Long accountId);
+
+    //다음 페이지가 있는지만 알면 되므로 전체 개수(count) 쿼리를 실행하지 않는 Slice로 받는다.
+    @Query("select n from Notification n where n.account.id = :accountId order by n.id desc")
+    Slice<Notification> findByAccountId(Long accountId, Pageable pageable);
+
+    //스터디 개설 알림을 다시 전달받았을 때 이미 알림을 만든 계정
+    @Query("select n.account.id from Notification n where n.link = :link and n.notificationType = :type and n.account.id in :accountIds")
+    Set<Long> findNotifiedAccountIds(String link, NotificationType type, Collection<Long> accountIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.checked = true where n.id in :ids")
+    int markChecked(Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Notification n where n.account.id = :accountId")
+    int deleteByAccountId(Long accountId);
+}
@@ -0,0 +1,49 @@
+package com.studyolle.notification;
+
+import com.studyolle.config.NotificationProperties;
+import com.studyolle.domain.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCountCache notificationCountCache;
+    private final NotificationProperties properties;
+
+    /** getUnreadCount
+     목적 : 상단 메뉴의 알림 표시
+     설명 : 캐시에 없을 때만 센다.
+     **/
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long accountId) {
+        return notificationCountCache.get(accountId, notificationRepository::countUnchecked);
+    }
+
+    /** getNotifications
+     목적 : 알림 목록
+     설명 : 최근 알림부터 한 페이지를 읽고, 그중 읽지 않은 알림을 읽음으로 바꾼다.
+     비고 : 한번에 UPDATE하므로 읽어온 알림 객체는 읽지 않은 상태 그대로다. 화면에서 새 알림으로 표시할 수 있다.
+     **/
+    public Slice<Notification> getNotifications(Long accountId, int page) {
+        Slice<Notification> notifications = notificationRepository.findByAccountId(accountId, PageRequest.of(page, properties.getPageSize()));
+        List<Long> unchecked = notifications.stream()
+                .filter(notification -> !notification.isChecked())
+                .map(Notification::getId)
+                .collect(Collectors.toList());
+        if (!unchecked.isEmpty()) {
+            notificationRepository.markChecked(unchecked);
+            notificationCountCache.evict(accountId);
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyolle.search;
+
+import com.studyolle.account.CurrentAccount;
+import com.studyolle.domain.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class StudySearchController {
+
+    private final StudySearchService studySearchService;
+
+    /** searchStudy
+     목적 : 스터디 검색
+     설명 : 검색어(이름, 소개, 본문, 태그, 지역)와 태그/지역 조건으로 찾은 스터디를 한 페이지씩 보여준다.
+     호출 : 상단 메뉴의 스터디 찾기에 검색어 입력
+     **/
+    @GetMapping("/search/study")
+    public String searchStudy(@CurrentAccount Account account,
+                              @RequestParam(defaultValue = "") String keyword,
+                              @RequestParam(name = "tag", required = false) List<String> tags,
+                              @RequestParam(name = "zone", required = false) List<String> zones,
+                              @RequestParam(defaultValue = "0") int page,
+                              Model model) {
+        if (account != null) { //로그인하지 않아도 검색할 수 있다.
+            model.addAttribute(account);
+        }
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("studyPage", studySearchService.search(keyword, tags, zones, page));
+        return "search";
+    }
+}
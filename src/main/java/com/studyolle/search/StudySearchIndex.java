@@ -0,0 +1,304 @@
+package com.studyolle.search;
+
+import com.studyolle.config.StudySearchProperties;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.unbescape.html.HtmlEscape;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/** StudySearchIndex 스터디 검색 색인 (Lucene)
+ 목적 : @Lob 본문에 LIKE 검색을 하지 않고, 이름/짧은 소개/본문/태그/지역을 한국어 형태소 단위로 검색하기 위해서
+ 설명 : 스터디 하나를 문서 하나로 색인한다. 본문은 html 태그를 떼고 형태소 분석기(nori)로 나눈다.
+       태그, 지역은 분석하지 않는 필드에도 넣어서 정확히 일치하는 것만 거르는 조건으로 쓴다.
+       변경은 바로 검색에 반영되고(near-real-time), 디스크 기록(commit)은 commit-interval마다 한다.
+ 비고 : 색인은 DB에서 언제든 다시 만들 수 있는 사본이다. StudySearchService가 커밋된 변경만 반영하고, 시작할 때 DB와 수가 다르면 다시 만든다.
+       공개하지 않은 스터디(초안)도 색인하되 검색에서는 거른다. 공개 여부가 바뀌면 그 스터디를 다시 색인해야 검색에 나온다.
+ **/
+@Slf4j
+@Component
+public class StudySearchIndex {
+
+    static final String ID = "id";
+    static final String ID_SORT = "id_sort";
+    static final String PATH = "path";
+    static final String TITLE = "title";
+    static final String SHORT_DESCRIPTION = "shortDescription";
+    static final String FULL_DESCRIPTION = "fullDescription";
+    static final String TAG = "tag";
+    static final String ZONE = "zone";
+    static final String PUBLISHED = "published";
+    static final String ALL = "all"; //모든 글 필드를 합친 필드. 검색어의 모든 낱말이 어느 필드에든 있으면 찾는다.
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    private final StudySearchProperties properties;
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public StudySearchIndex(StudySearchProperties properties) {
+        this.properties = properties;
+        try {
+            this.directory = StringUtils.hasText(properties.getIndexDirectory())
+                    ? FSDirectory.open(Path.of(properties.getIndexDirectory()))
+                    : new ByteBuffersDirectory();
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스터디 검색 색인을 열 수 없습니다: " + properties.getIndexDirectory(), e);
+        }
+    }
+
+    /** index
+     목적 : 스터디 색인 추가/수정
+     설명 : 같은 id의 문서를 바꾼다. 여러 개를 한번에 넣을 때는 refresh를 false로 하고 마지막에 refresh를 호출한다.
+     **/
+    public void index(Study study, boolean refresh) {
+        index(study.getId(), toDocument(study), refresh);
+    }
+
+    void index(Long id, Document document, boolean refresh) {
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document);
+            if (refresh) {
+                refresh();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+            refresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** search
+     목적 : 스터디 검색
+     설명 : keyword가 있으면 관련도 순(이름 > 짧은 소개 > 본문/태그/지역), 없으면 최근에 만든 순.
+           tags, zones는 각각 하나라도 일치하는 스터디만 거른다. (지역은 Zone.toString() 형식)
+     비고 : page * size가 max-result-window를 넘으면 빈 페이지를 돌려준다. (큰 page에서 int가 넘치지 않게 long으로 계산)
+     **/
+    public StudySearchResult search(String keyword, Collection<String> tags, Collection<String> zones, int page, int size) {
+        if (page < 0 || size <= 0 || (page + 1L) * size > properties.getMaxResultWindow()) {
+            return new StudySearchResult(List.of(), 0, Math.max(page, 0), size, false);
+        }
+        int window = (page + 1) * size;
+
+        IndexSearcher searcher = acquire();
+        try {
+            Query query = query(keyword, tags, zones);
+            TopDocs topDocs = StringUtils.hasText(keyword)
+                    ? searcher.search(query, window)
+                    : searcher.search(query, window, new Sort(new SortField(ID_SORT, SortField.Type.LONG, true)));
+
+            List<StudySearchResult.Hit> hits = new ArrayList<>(size);
+            for (int i = page * size; i < topDocs.scoreDocs.length; i++) {
+                hits.add(toHit(searcher.storedFields().document(topDocs.scoreDocs[i].doc)));
+            }
+            long totalHits = topDocs.totalHits.value;
+            boolean hasNext = totalHits > window && (long) window + size <= properties.getMaxResultWindow();
+            return new StudySearchResult(hits, totalHits, page, size, hasNext);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public int numDocs() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /** commit
+     목적 : 색인 변경을 디스크에 기록
+     설명 : 변경마다 commit하면 느리므로 commit-interval마다 모아서 한다. 그 사이에 죽으면 시작할 때 DB에서 다시 만든다.
+     **/
+    @Scheduled(fixedDelayString = "#{@studySearchProperties.commitInterval.toMillis()}")
+    public void commit() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("study search index commit failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); //close가 남은 변경을 commit한다.
+        directory.close();
+    }
+
+    private Query query(String keyword, Collection<String> tags, Collection<String> zones) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (StringUtils.hasText(keyword)) {
+            QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+            Query all = queryBuilder.createBooleanQuery(ALL, keyword, Occur.MUST);
+            if (all == null) { //조사, 기호만 있어서 검색할 낱말이 없음
+                return new MatchNoDocsQuery();
+            }
+            query.add(all, Occur.MUST);
+            addBoost(query, queryBuilder.createBooleanQuery(TITLE, keyword), 3f);
+            addBoost(query, queryBuilder.createBooleanQuery(SHORT_DESCRIPTION, keyword), 2f);
+        } else {
+            query.add(new MatchAllDocsQuery(), Occur.MUST);
+        }
+        query.add(new TermQuery(new Term(PUBLISHED, "true")), Occur.FILTER); //검색은 로그인 없이도 되므로 초안은 보여주지 않는다.
+        addFilter(query, TAG, tags);
+        addFilter(query, ZONE, zones);
+        return query.build();
+    }
+
+    private static void addBoost(BooleanQuery.Builder query, Query fieldQuery, float boost) {
+        if (fieldQuery != null) {
+            query.add(new BoostQuery(fieldQuery, boost), Occur.SHOULD);
+        }
+    }
+
+    private static void addFilter(BooleanQuery.Builder query, String field, Collection<String> values) {
+        if (values == null || values.stream().noneMatch(StringUtils::hasText)) {
+            return;
+        }
+        BooleanQuery.Builder anyOf = new BooleanQuery.Builder();
+        values.stream().filter(StringUtils::hasText)
+                .forEach(value -> anyOf.add(new TermQuery(new Term(field, value)), Occur.SHOULD));
+        query.add(anyOf.build(), Occur.FILTER); //점수에 영향을 주지 않는 조건
+    }
+
+    static Document toDocument(Study study) {
+        String fullDescription = plainText(study.getFullDescription());
+        Document document = new Document();
+        document.add(new StringField(ID, study.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, study.getId()));
+        document.add(new StoredField(PATH, study.getPath()));
+        document.add(new StringField(PUBLISHED, Boolean.toString(study.isPublished()), Field.Store.NO));
+        document.add(new TextField(TITLE, nullToEmpty(study.getTitle()), Field.Store.YES));
+        document.add(new TextField(SHORT_DESCRIPTION, nullToEmpty(study.getShortDescription()), Field.Store.YES));
+        document.add(new TextField(FULL_DESCRIPTION, fullDescription, Field.Store.NO));
+
+        List<String> all = new ArrayList<>(List.of(nullToEmpty(study.getTitle()), nullToEmpty(study.getShortDescription()), fullDescription));
+        for (Tag tag : nullToEmpty(study.getTags())) {
+            document.add(new StringField(TAG, tag.getTitle(), Field.Store.YES));
+            all.add(tag.getTitle());
+        }
+        for (Zone zone : nullToEmpty(study.getZones())) {
+            document.add(new StringField(ZONE, zone.toString(), Field.Store.YES));
+            all.add(zone.getLocalNameOfCity());
+        }
+        document.add(new TextField(ALL, String.join("\n", all), Field.Store.NO));
+        return document;
+    }
+
+    private static StudySearchResult.Hit toHit(Document document) {
+        return new StudySearchResult.Hit(
+                Long.valueOf(document.get(ID)),
+                document.get(PATH),
+                document.get(TITLE),
+                document.get(SHORT_DESCRIPTION),
+                Arrays.asList(document.getValues(TAG)),
+                Arrays.asList(document.getValues(ZONE)));
+    }
+
+    private static String plainText(String html) {
+        if (html == null) {
+            return "";
+        }
+        return HtmlEscape.unescapeHtml(HTML_TAG.matcher(html).replaceAll(" ")); //summernote html에서 글자만 남긴다.
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static <T> Collection<T> nullToEmpty(Collection<T> values) {
+        return values == null ? List.of() : values; //빌더로 만든 스터디는 연관관계 Set이 null이다.
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
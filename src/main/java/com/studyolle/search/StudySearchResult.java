@@ -0,0 +1,50 @@
+package com.studyolle.search;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/** StudySearchResult 스터디 검색 결과 한 페이지
+ 목적 : 검색 화면에 필요한 값만 색인에서 꺼내서 보여주기 위해서 (DB 조회 없음)
+ **/
+@Getter
+public class StudySearchResult {
+
+    private final List<Hit> content;
+    private final long totalHits;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+
+    StudySearchResult(List<Hit> content, long totalHits, int page, int size, boolean hasNext) {
+        this.content = content;
+        this.totalHits = totalHits;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    public boolean isHasPrevious() {
+        return page > 0;
+    }
+
+    @Getter
+    public static class Hit {
+
+        private final Long id;
+        private final String path;
+        private final String title;
+        private final String shortDescription;
+        private final List<String> tags;
+        private final List<String> zones;
+
+        Hit(Long id, String path, String title, String shortDescription, List<String> tags, List<String> zones) {
+            this.id = id;
+            this.path = path;
+            this.title = title;
+            this.shortDescription = shortDescription;
+            this.tags = tags;
+            this.zones = zones;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.studyolle.search;
+
+import com.studyolle.config.StudySearchProperties;
+import com.studyolle.study.StudyCreatedEvent;
+import com.studyolle.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+
+/** StudySearchService 스터디 검색
+ 목적 : 스터디 변경 이벤트를 검색 색인(StudySearchIndex)에 반영하고, 색인이 DB와 어긋나면 다시 만들기 위해서
+ 설명 : 커밋된 변경만 DomainEventOutbox를 거쳐 전달되므로 롤백되면 색인은 그대로다.
+ **/
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudySearchService {
+
+    private final StudySearchIndex studySearchIndex;
+    private final StudySearchProperties properties;
+    private final StudyRepository studyRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    public StudySearchResult search(String keyword, Collection<String> tags, Collection<String> zones, int page) {
+        return studySearchIndex.search(keyword, tags, zones, page, properties.getPageSize());
+    }
+
+    /** onStudyCreated
+     목적 : 새 스터디를 색인에 반영
+     설명 : DomainEventRelay가 전달하면 스터디와 태그/지역을 새 트랜잭션에서 한번에 읽어 색인한다.
+     비고 : 롤백된 스터디는 이벤트도 저장되지 않으므로 색인되지 않는다. 다시 전달되어도 같은 id의 문서를 바꿀 뿐이다.
+     **/
+    @EventListener
+    public void onStudyCreated(StudyCreatedEvent event) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status ->
+                studyRepository.findWithTagsAndZonesByIdIn(List.of(event.getStudyId()))
+                        .forEach(study -> studySearchIndex.index(study, true)));
+    }
+
+    /** rebuildIfStale
+     목적 : 시작할 때 색인 확인
+     설명 : 색인의 문서 수가 DB의 스터디 수와 다르면(처음 시작, 메모리 색인, commit 전에 종료) 색인을 다시 만든다.
+     **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        long studies = studyRepository.count();
+        int documents = studySearchIndex.numDocs();
+        if (studies != documents) {
+            log.info("study search index is stale ({} documents, {} studies), rebuilding", documents, studies);
+            rebuild();
+        }
+    }
+
+    /** rebuild
+     목적 : 색인 다시 만들기
+     설명 : id 순서로 reindex-batch-size개씩 스터디와 태그/지역을 한번에 읽어 색인하고 영속성 컨텍스트를 비운다.
+     **/
+    public int rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        studySearchIndex.deleteAll();
+        int count = 0;
+        Long lastId = 0L;
+        while (true) {
+            Long after = lastId;
+            List<Long> ids = studyRepository.findIdsAfter(after, PageRequest.of(0, properties.getReindexBatchSize()));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                studyRepository.findWithTagsAndZonesByIdIn(ids).forEach(study -> studySearchIndex.index(study, false));
+                entityManager.clear();
+            });
+            count += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        studySearchIndex.refresh();
+        studySearchIndex.commit();
+        log.info("study search index rebuilt: {} studies in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+}
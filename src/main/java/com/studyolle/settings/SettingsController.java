@@ -10,11 +10,16 @@ import com.studyolle.domain.Zone;
 import com.studyolle.settings.form.*;
 import com.studyolle.settings.validator.NicknameValidator;
 import com.studyolle.settings.validator.PasswordFormValidator;
+import com.studyolle.tag.TagCatalog;
 import com.studyolle.tag.TagRepository;
-import com.studyolle.zone.ZoneRepository;
+import com.studyolle.tag.TagService;
+import com.studyolle.zone.ZoneCatalog;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -22,6 +27,7 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.Set;
@@ -44,12 +50,16 @@ public class SettingsController {
     static final String ACCOUNT = "/account";
     static final String TAGS = "/tags";
     static final String ZONES = "/zones";
+    static final int ZONE_SEARCH_LIMIT = 10;
+    static final int TAG_SEARCH_LIMIT = 20;
 
     private final AccountService accountService;
     private final ModelMapper modelMapper;
     private final NicknameValidator nicknameValidator;
     private final TagRepository tagRepository;
-    private final ZoneRepository zoneRepository;
+    private final TagService tagService;
+    private final TagCatalog tagCatalog;
+    private final ZoneCatalog zoneCatalog;
 
     /*
     Q. ObjectMapper?
@@ -123,17 +133,24 @@ public class SettingsController {
     /** updatePassword
      목적 : 비밀번호 변경
      설명 : 비밀번호 변경하고, "패스워드를 변경했습니다." 메세지 표시
-     비고 :
+     비고 : 비밀번호 해시 대기열이 가득 차면(AuthenticationServiceException) 503으로 변경 폼을 다시 보여준다.
      **/
     @PostMapping(PASSWORD)
     public String updatePassword(@CurrentAccount Account account, @Valid PasswordForm passwordForm, Errors errors,
-                                 Model model, RedirectAttributes attributes) {
+                                 Model model, RedirectAttributes attributes, HttpServletResponse response) {
         if(errors.hasErrors()) {
             model.addAttribute(account);
             return SETTINGS + PASSWORD;
         }
 
-        accountService.updatePassword(account, passwordForm.getNewPassword());
+        try {
+            accountService.updatePassword(account, passwordForm.getNewPassword());
+        } catch (AuthenticationServiceException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            model.addAttribute(account);
+            model.addAttribute("error", e.getMessage());
+            return SETTINGS + PASSWORD;
+        }
         attributes.addFlashAttribute("message", "패스워드를 변경했습니다.");
         return "redirect:/" + SETTINGS + PASSWORD;
     }
@@ -183,7 +200,7 @@ public class SettingsController {
     /** updateAccount
      목적 : 닉네임 변경
      설명 : 닉네임 변경하고, "닉네임을 수정했습니다." 메세지 표시
-     비고 :
+     비고 : 검사를 통과했어도 그 사이 다른 요청이 같은 닉네임을 쓰면 unique 제약에 걸리므로 폼 에러로 보여준다.
      **/
     @PostMapping(ACCOUNT)
     public String updateAccount(@CurrentAccount Account account, @Valid NicknameForm nicknameForm, Errors errors,
@@ -193,7 +210,13 @@ public class SettingsController {
             return SETTINGS + ACCOUNT;
         }
 
-        accountService.updateNickname(account, nicknameForm.getNickname());
+        try {
+            accountService.updateNickname(account, nicknameForm.getNickname());
+        } catch (DataIntegrityViolationException e) {
+            errors.rejectValue("nickname", "invalid.nickname", new Object[]{nicknameForm.getNickname()}, "이미 사용중인 닉네임입니다.");
+            model.addAttribute(account);
+            return SETTINGS + ACCOUNT;
+        }
         attributes.addFlashAttribute("message", "닉네임을 수정했습니다.");
         return "redirect:/" + SETTINGS + ACCOUNT;
     }
@@ -210,13 +233,22 @@ public class SettingsController {
         model.addAttribute("tags", tags.stream().map(Tag::getTitle).collect(Collectors.toList())); //문자열 타입의 리스트로 model담아서 보냄
         //tags라는 컬렉션을 순회하며 각 Tag 객체의 title을 추출하고, 그 결과를 리스트로 변환한 후 모델에 추가
 
-        // 관심 주제 자동완성
-        List<String> allTags = tagRepository.findAll().stream().map(Tag::getTitle).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTags));
+        // 관심 주제 자동완성 - 전체 태그 대신 앞쪽 일부만 보내고, 나머지는 입력할 때 /settings/tags/search로 가져온다.
+        model.addAttribute("whitelist", objectMapper.writeValueAsString(tagCatalog.first(TAG_SEARCH_LIMIT)));
 
         return SETTINGS + TAGS;
     }
 
+    /** searchTags
+     목적 : 관심주제 자동완성
+     설명 : 입력한 글자로 시작하는 태그 이름을 최대 limit개(TAG_SEARCH_LIMIT 이하) JSON으로 반환
+     **/
+    @GetMapping(TAGS + "/search")
+    @ResponseBody
+    public List<String> searchTags(String keyword, @RequestParam(defaultValue = "" + TAG_SEARCH_LIMIT) int limit) {
+        return tagCatalog.search(keyword, Math.min(Math.max(limit, 0), TAG_SEARCH_LIMIT));
+    }
+
     /** addTag
      목적 : 관심주제 키워드 추가
      설명 : "/settings/tags/add"가 아닌 /settings/tags에서 add호출이 따로감
@@ -237,18 +269,13 @@ public class SettingsController {
 
         4. tagForm.getTagTitle()메서드로 앞단에서 보낸 키워드를 title변수에 담음
 
-        5. tagRepository저장소에서 같은 키워드가 있는지 검색
+        5. tagService에서 같은 키워드가 있는지 검색
 
-        6. 없으면 저장
+        6. 없으면 저장 (저장된 태그는 커밋 후 TagCatalog에 추가된다.)
 
          */
 
-        String title = tagForm.getTagTitle();
-
-        Tag tag = tagRepository.findByTitle(title); //없으면 null 반환
-        if (tag == null) {
-            tag = tagRepository.save(Tag.builder().title(tagForm.getTagTitle()).build());
-        }
+        Tag tag = tagService.findOrCreateNew(tagForm.getTagTitle());
 
         /*
         Q. 빌더 패턴이란?
@@ -284,23 +311,36 @@ public class SettingsController {
         return ResponseEntity.ok().build();
     }
 
+    /** updateZonesForm
+     목적 : 활동 지역 조회
+     설명 : settings/zones 뷰로 이동
+     비고 : 전체 지역 whitelist는 ZoneCatalog가 미리 만들어 둔 JSON을 그대로 쓴다.
+     **/
     @GetMapping(ZONES)
-    public String updateZonesForm(@CurrentAccount Account account, Model model) throws JsonProcessingException {
+    public String updateZonesForm(@CurrentAccount Account account, Model model) {
         model.addAttribute(account);
 
         Set<Zone> zones = accountService.getZones(account);
         model.addAttribute("zones", zones.stream().map(Zone::toString).collect(Collectors.toList()));
-
-        List<String> allZones = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
+        model.addAttribute("whitelist", zoneCatalog.getWhitelistJson());
 
         return SETTINGS + ZONES;
     }
 
+    /** searchZones
+     목적 : 활동 지역 자동완성
+     설명 : 입력한 글자로 시작하는 지역 이름을 최대 ZONE_SEARCH_LIMIT개 JSON으로 반환
+     **/
+    @GetMapping(ZONES + "/search")
+    @ResponseBody
+    public List<String> searchZones(String keyword) {
+        return zoneCatalog.search(keyword, ZONE_SEARCH_LIMIT);
+    }
+
     @PostMapping(ZONES + "/add")
     @ResponseBody
     public ResponseEntity addZone(@CurrentAccount Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneCatalog.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -312,7 +352,7 @@ public class SettingsController {
     @PostMapping(ZONES + "/remove")
     @ResponseBody
     public ResponseEntity removeZone(@CurrentAccount Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneCatalog.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,7 +1,6 @@
 package com.studyolle.settings.validator;
 
-import com.studyolle.account.AccountRepository;
-import com.studyolle.domain.Account;
+import com.studyolle.availability.AvailabilityIndex;
 import com.studyolle.settings.form.NicknameForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -13,7 +12,7 @@ import org.springframework.validation.Validator;
 @RequiredArgsConstructor
 public class NicknameValidator implements Validator {
 
-    private final AccountRepository accountRepository;
+    private final AvailabilityIndex availabilityIndex;
 
     /** supports
      목적 : 닉네임 유효성 검사 할 클래스 선택
@@ -33,8 +32,7 @@ public class NicknameValidator implements Validator {
     @Override
     public void validate(Object target, Errors errors) {
         NicknameForm nicknameForm = (NicknameForm) target;
-        Account byNickname = accountRepository.findByNickname(nicknameForm.getNickname());
-        if (byNickname != null) {
+        if (!availabilityIndex.isNicknameAvailable(nicknameForm.getNickname())) { //계정 전체를 읽지 않고 있는지만 확인
             errors.rejectValue("nickname", "wrong.value", "입력하신 닉네임을 사용할 수 없습니다.");
         }
     }
@@ -7,13 +7,18 @@ import com.studyolle.study.form.StudyForm;
 import com.studyolle.study.validator.StudyFormValidator;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.validation.Valid;
 import java.net.URLEncoder;
@@ -23,6 +28,9 @@ import java.nio.charset.StandardCharsets;
 @RequiredArgsConstructor
 public class StudyController {
 
+    static final int STUDY_LIST_SIZE = 20;
+    static final int MAX_STUDY_LIST_SIZE = 100;
+
     private final StudyService studyService;
     private final ModelMapper modelMapper;
     private final StudyFormValidator studyFormValidator;
@@ -47,6 +55,7 @@ public class StudyController {
     /** newStudySubmit
      목적 : 스터디 개설 작성
      설명 : studyService.createNewStudy를 통해, 새 스터디를 개설한다.
+           검사 뒤에 다른 요청이 같은 경로로 먼저 개설하면 unique 제약에 걸리므로 경로 폼 에러로 보여준다.
      호출 : 스터디 개설 화면에서 스터디 만들기 버튼 누른다.
      **/
     @PostMapping("/new-study")
@@ -55,8 +64,54 @@ public class StudyController {
             return "study/form";
         }
 
-        Study newStudy = studyService.createNewStudy(modelMapper.map(studyForm, Study.class), account);
+        Study newStudy;
+        try {
+            newStudy = studyService.createNewStudy(modelMapper.map(studyForm, Study.class), account);
+        } catch (DataIntegrityViolationException e) {
+            errors.rejectValue("path", "wrong.path", "해당 스터디 경로값을 사용할 수 없습니다.");
+            return "study/form";
+        }
         return "redirect:/study/" + URLEncoder.encode(newStudy.getPath(), StandardCharsets.UTF_8);
     }
 
+    /** viewStudy
+     목적 : 스터디 화면
+     설명 : 캐시된 스터디 화면 읽기 모델(StudyView)을 보여준다. 로그인 사용자가 매니저/멤버인지는 id로 확인한다.
+     호출 : 스터디 개설 후 이동, 스터디 링크 클릭
+     **/
+    @GetMapping("/study/{path}")
+    public String viewStudy(@CurrentAccount Account account, @PathVariable String path, Model model) {
+        StudyView study = studyService.getStudyView(path);
+        model.addAttribute(account);
+        model.addAttribute("study", study);
+        model.addAttribute("isManager", study.isManager(account));
+        model.addAttribute("isMember", study.isMember(account));
+        return "study/view";
+    }
+
+    /** listStudies
+     목적 : 공개된 스터디 목록 (json)
+     설명 : 최근에 공개한 순으로 size개씩. 응답의 nextCursor를 cursor로 넘기면 다음 페이지를 준다.
+           recruiting을 넘기지 않으면 모집 여부와 관계없이, closed를 넘기지 않으면 진행중인 스터디만 보여준다.
+     호출 : GET /studies?recruiting=true&size=20&cursor=...
+     **/
+    @GetMapping("/studies")
+    @ResponseBody
+    public ResponseEntity<StudyListing> listStudies(@RequestParam(required = false) Boolean recruiting,
+                                                    @RequestParam(defaultValue = "false") boolean closed,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "" + STUDY_LIST_SIZE) int size) {
+        if (size < 1 || size > MAX_STUDY_LIST_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StudyCursor after;
+        try {
+            after = cursor == null ? null : StudyCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(studyService.listPublishedStudies(recruiting, closed, after, size));
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.studyolle.study;
+
+import com.studyolle.event.DomainEvent;
+import lombok.Getter;
+
+import java.util.Set;
+
+/** StudyCreatedEvent 스터디 개설 이벤트
+ 목적 : 스터디 개설과 알림 발송, 검색 색인을 나눠서 StudyService가 수신자 수만큼 기다리지 않게 하기 위해서
+ 설명 : DomainEventOutbox로 저장했다가 DomainEventRelay가 전달한다. (NotificationFanOut, StudySearchService)
+ **/
+@Getter
+public class StudyCreatedEvent implements DomainEvent {
+
+    private final Long studyId;
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final Set<Long> tagIds;
+    private final Set<Long> zoneIds;
+
+    public StudyCreatedEvent(Long studyId, String path, String title, String shortDescription, Set<Long> tagIds, Set<Long> zoneIds) {
+        this.studyId = studyId;
+        this.path = path;
+        this.title = title;
+        this.shortDescription = shortDescription;
+        this.tagIds = Set.copyOf(tagIds);
+        this.zoneIds = Set.copyOf(zoneIds);
+    }
+}
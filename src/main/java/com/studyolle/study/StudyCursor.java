@@ -0,0 +1,48 @@
+package com.studyolle.study;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/** StudyCursor 스터디 목록 다음 페이지 위치
+ 목적 : OFFSET 없이(keyset 페이징) 마지막으로 본 스터디 다음부터 읽기 위해서
+ 설명 : 마지막 스터디의 공개 시간과 id. 문자열로는 "공개시간_id" (예: 2024-03-01T10:15:30_42)
+ 비고 : 공개 시간이 같은 스터디는 id로 순서를 정한다.
+ **/
+@Getter
+@EqualsAndHashCode
+public class StudyCursor {
+
+    static final StudyCursor FIRST = new StudyCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE); //첫 페이지
+
+    private final LocalDateTime publishedDateTime;
+    private final Long id;
+
+    StudyCursor(LocalDateTime publishedDateTime, Long id) {
+        this.publishedDateTime = publishedDateTime;
+        this.id = id;
+    }
+
+    /** parse
+     목적 : 요청 파라미터의 커서 읽기
+     비고 : 형식이 틀리면 IllegalArgumentException
+     **/
+    public static StudyCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        try {
+            return new StudyCursor(LocalDateTime.parse(cursor.substring(0, separator)), Long.valueOf(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return publishedDateTime + "_" + id;
+    }
+}
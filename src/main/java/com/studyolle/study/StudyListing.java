@@ -0,0 +1,20 @@
+package com.studyolle.study;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/** StudyListing 공개된 스터디 목록 한 페이지
+ 설명 : nextCursor가 null이면 마지막 페이지
+ **/
+@Getter
+public class StudyListing {
+
+    private final List<StudyRepository.StudySummary> content;
+    private final String nextCursor;
+
+    StudyListing(List<StudyRepository.StudySummary> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+}
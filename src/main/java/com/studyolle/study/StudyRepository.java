@@ -1,12 +1,97 @@
 package com.studyolle.study;
 
 import com.studyolle.domain.Study;
+import com.studyolle.domain.Zone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Transactional(readOnly = true)
 public interface StudyRepository extends JpaRepository<Study, Long> {
 
     boolean existsByPath(String path);
 
+    @Query("select s.path from Study s") //중복 확인 색인(AvailabilityIndex)을 만들 때 경로만 조회
+    Stream<String> streamAllPaths();
+
+    //스터디 화면(StudyView)은 연관관계 엔티티 없이 필요한 값만 조회한다.
+    @Query("select s.id as id, s.path as path, s.title as title, s.shortDescription as shortDescription, " +
+            "s.fullDescription as fullDescription, s.image as image, s.publishedDateTime as publishedDateTime, " +
+            "s.recruiting as recruiting, s.published as published, s.closed as closed, s.useBanner as useBanner " +
+            "from Study s where s.path = :path")
+    Optional<StudyHeader> findHeaderByPath(String path);
+
+    @Query("select t.title from Study s join s.tags t where s.id = :id order by t.title")
+    List<String> findTagTitlesById(Long id);
+
+    @Query("select z from Study s join s.zones z where s.id = :id order by z.city")
+    List<Zone> findZonesById(Long id);
+
+    @Query("select m.id from Study s join s.managers m where s.id = :id")
+    List<Long> findManagerIdsById(Long id);
+
+    @Query("select m.id from Study s join s.members m where s.id = :id")
+    List<Long> findMemberIdsById(Long id);
+
+    //검색 색인을 다시 만들 때 id 순서로 끊어서 읽는다.
+    @Query("select s.id from Study s where s.id > :id order by s.id")
+    List<Long> findIdsAfter(Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"tags", "zones"})
+    List<Study> findWithTagsAndZonesByIdIn(Collection<Long> ids);
+
+    //공개된 스터디 목록 (keyset 페이징) - 1) 인덱스(study_listing_idx)만 읽어 다음 페이지 id를 찾고 2) 그 id의 행만 읽는다.
+    @Query("select s.id as id, s.publishedDateTime as publishedDateTime from Study s " +
+            "where s.published = true and s.closed = :closed " +
+            "and (s.publishedDateTime < :publishedDateTime or (s.publishedDateTime = :publishedDateTime and s.id < :id)) " +
+            "order by s.publishedDateTime desc, s.id desc")
+    List<StudyKey> findPublishedKeys(boolean closed, LocalDateTime publishedDateTime, Long id, Pageable pageable);
+
+    @Query("select s.id as id, s.publishedDateTime as publishedDateTime from Study s " +
+            "where s.published = true and s.closed = :closed and s.recruiting = :recruiting " +
+            "and (s.publishedDateTime < :publishedDateTime or (s.publishedDateTime = :publishedDateTime and s.id < :id)) " +
+            "order by s.publishedDateTime desc, s.id desc")
+    List<StudyKey> findPublishedKeys(boolean closed, boolean recruiting, LocalDateTime publishedDateTime, Long id, Pageable pageable);
+
+    @Query("select s.id as id, s.path as path, s.title as title, s.shortDescription as shortDescription, " +
+            "s.publishedDateTime as publishedDateTime, s.recruiting as recruiting, s.closed as closed " +
+            "from Study s where s.id in :ids")
+    List<StudySummary> findSummariesByIdIn(Collection<Long> ids);
+
+    interface StudyKey {
+        Long getId();
+        LocalDateTime getPublishedDateTime();
+    }
+
+    interface StudySummary {
+        Long getId();
+        String getPath();
+        String getTitle();
+        String getShortDescription();
+        LocalDateTime getPublishedDateTime();
+        boolean isRecruiting();
+        boolean isClosed();
+    }
+
+    interface StudyHeader {
+        Long getId();
+        String getPath();
+        String getTitle();
+        String getShortDescription();
+        String getFullDescription();
+        String getImage();
+        LocalDateTime getPublishedDateTime();
+        boolean isRecruiting();
+        boolean isPublished();
+        boolean isClosed();
+        boolean isUseBanner();
+    }
 }
@@ -1,25 +1,106 @@
 package com.studyolle.study;
 
+import com.studyolle.availability.AvailabilityIndex;
+import com.studyolle.common.HtmlSanitizer;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import com.studyolle.event.DomainEventOutbox;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class StudyService {
 
     private final StudyRepository repository;
+    private final StudyViewCache studyViewCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final DomainEventOutbox domainEventOutbox;
 
     /** createNewStudy
      목적 : 스터디 개설
-     설명 :
+     설명 : 본문 html은 허용한 태그만 남기고 저장한다. (HtmlSanitizer)
      **/
+    @Timed(value = "studyolle.study.create", description = "스터디 개설 시간", histogram = true)
     public Study createNewStudy(Study study, Account account) {
+        study.setFullDescription(HtmlSanitizer.sanitize(study.getFullDescription()));
+        availabilityIndex.addStudyPath(study.getPath()); //커밋 전에 넣어서 다른 요청이 사용할 수 있다고 판단하지 않게 한다.
         Study newStudy = repository.save(study); //스터디를 repository에 저장 후, newStudy에 넣는다.
         newStudy.addManager(account); //newStudy에 매니저 정보를 넣어서 반환한다.
+        studyViewCache.evict(newStudy.getPath());
+        domainEventOutbox.publish(new StudyCreatedEvent(newStudy.getId(), newStudy.getPath(), newStudy.getTitle(),
+                newStudy.getShortDescription(), ids(newStudy.getTags(), Tag::getId), ids(newStudy.getZones(), Zone::getId))); //커밋된 뒤 알림(NotificationFanOut), 검색 색인(StudySearchService)
         return newStudy;
     }
+
+    /** getStudyView
+     목적 : 스터디 화면
+     설명 : 경로로 스터디 화면 읽기 모델을 캐시에서 꺼낸다. 없으면 Study 엔티티 없이 필요한 값만 조회해서 만든다.
+     비고 : 없는 스터디면 IllegalArgumentException
+     **/
+    @Transactional(readOnly = true)
+    public StudyView getStudyView(String path) {
+        StudyView studyView = studyViewCache.get(path, this::loadStudyView);
+        if (studyView == null) {
+            throw new IllegalArgumentException(path + "에 해당하는 스터디가 없습니다.");
+        }
+        return studyView;
+    }
+
+    /** listPublishedStudies
+     목적 : 공개된 스터디 목록
+     설명 : 최근에 공개한 순으로 cursor 다음 size개. recruiting이 null이면 모집 여부와 관계없이 읽는다.
+           size보다 하나 더 읽어서 다음 페이지가 있는지 확인하고, id로 찾은 행은 인덱스에서 찾은 순서대로 다시 늘어놓는다.
+     비고 : 페이지가 깊어져도 앞 페이지를 건너뛰며 읽지 않으므로(OFFSET 없음) 쿼리 비용이 같다.
+     **/
+    @Transactional(readOnly = true)
+    public StudyListing listPublishedStudies(Boolean recruiting, boolean closed, StudyCursor cursor, int size) {
+        StudyCursor after = cursor == null ? StudyCursor.FIRST : cursor;
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<StudyRepository.StudyKey> keys = recruiting == null
+                ? repository.findPublishedKeys(closed, after.getPublishedDateTime(), after.getId(), limit)
+                : repository.findPublishedKeys(closed, recruiting, after.getPublishedDateTime(), after.getId(), limit);
+
+        boolean hasNext = keys.size() > size;
+        List<StudyRepository.StudyKey> page = hasNext ? keys.subList(0, size) : keys;
+        if (page.isEmpty()) {
+            return new StudyListing(List.of(), null);
+        }
+
+        List<Long> ids = page.stream().map(StudyRepository.StudyKey::getId).collect(Collectors.toList());
+        Map<Long, StudyRepository.StudySummary> summaries = repository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(StudyRepository.StudySummary::getId, Function.identity()));
+        List<StudyRepository.StudySummary> content = ids.stream().map(summaries::get).filter(Objects::nonNull).collect(Collectors.toList());
+
+        StudyRepository.StudyKey last = page.get(page.size() - 1);
+        String nextCursor = hasNext ? new StudyCursor(last.getPublishedDateTime(), last.getId()).toString() : null;
+        return new StudyListing(content, nextCursor);
+    }
+
+    private static <T> Set<Long> ids(Set<T> entities, Function<T, Long> id) {
+        return entities == null ? Set.of() : entities.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private StudyView loadStudyView(String path) {
+        return repository.findHeaderByPath(path)
+                .map(header -> new StudyView(header,
+                        repository.findTagTitlesById(header.getId()),
+                        repository.findZonesById(header.getId()),
+                        repository.findManagerIdsById(header.getId()),
+                        repository.findMemberIdsById(header.getId())))
+                .orElse(null);
+    }
 }
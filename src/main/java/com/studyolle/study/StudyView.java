@@ -0,0 +1,71 @@
+package com.studyolle.study;
+
+import com.studyolle.common.HtmlSanitizer;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Zone;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/** StudyView 스터디 화면 읽기 모델
+ 목적 : 스터디 화면을 볼 때마다 Study 엔티티와 매니저/멤버/태그/지역 연관관계를 모두 읽지 않기 위해서
+ 설명 : 화면에 필요한 값, 태그 이름, 지역 이름, 매니저/멤버 id만 담은 바뀌지 않는 객체. StudyViewCache에 경로로 담아둔다.
+ 비고 : 매니저/멤버는 수와 로그인 사용자가 포함되는지만 필요하므로 id만 가진다.
+ **/
+@Getter
+public class StudyView {
+
+    private final Long id;
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final String fullDescription; //summernote로 작성한 본문 html. 화면에서 th:utext로 그대로 쓰므로 허용한 태그만 남긴다.
+    private final String image;
+    private final LocalDateTime publishedDateTime;
+    private final boolean recruiting;
+    private final boolean published;
+    private final boolean closed;
+    private final boolean useBanner;
+    private final List<String> tags;
+    private final List<String> zones;
+    private final Set<Long> managerIds;
+    private final Set<Long> memberIds;
+
+    StudyView(StudyRepository.StudyHeader header, List<String> tags, List<Zone> zones,
+              List<Long> managerIds, List<Long> memberIds) {
+        this.id = header.getId();
+        this.path = header.getPath();
+        this.title = header.getTitle();
+        this.shortDescription = header.getShortDescription();
+        this.fullDescription = HtmlSanitizer.sanitize(header.getFullDescription()); //정리하기 전에 저장된 본문도 있으므로 화면 모델을 만들 때 한번 더
+        this.image = header.getImage();
+        this.publishedDateTime = header.getPublishedDateTime();
+        this.recruiting = header.isRecruiting();
+        this.published = header.isPublished();
+        this.closed = header.isClosed();
+        this.useBanner = header.isUseBanner();
+        this.tags = List.copyOf(tags);
+        this.zones = zones.stream().map(Zone::toString).collect(Collectors.toUnmodifiableList());
+        this.managerIds = Set.copyOf(managerIds);
+        this.memberIds = Set.copyOf(memberIds);
+    }
+
+    public int getManagerCount() {
+        return managerIds.size();
+    }
+
+    public int getMemberCount() {
+        return memberIds.size();
+    }
+
+    public boolean isManager(Account account) {
+        return account != null && managerIds.contains(account.getId());
+    }
+
+    public boolean isMember(Account account) {
+        return account != null && memberIds.contains(account.getId());
+    }
+}
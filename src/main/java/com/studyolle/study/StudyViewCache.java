@@ -0,0 +1,62 @@
+package com.studyolle.study;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studyolle.config.StudyViewCacheProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/** StudyViewCache 스터디 화면 캐시
+ 목적 : 많이 읽히는 스터디 화면을 요청마다 DB에서 다시 만들지 않기 위해서
+ 설명 : 경로(path)로 StudyView를 크기/시간 제한이 있는 캐시(Caffeine)에 담아둔다.
+ 비고 : 스터디가 바뀌면 StudyService가 evict를 호출한다.
+ **/
+@Component
+public class StudyViewCache {
+
+    private final Cache<String, StudyView> cache;
+
+    public StudyViewCache(StudyViewCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /** get
+     목적 : 캐시 조회
+     설명 : 없으면 loader로 만들어서 담는다. loader가 null을 반환하면(없는 스터디) 담지 않고 null을 반환
+     **/
+    public StudyView get(String path, Function<String, StudyView> loader) {
+        return cache.get(path, loader);
+    }
+
+    /** evict
+     목적 : 캐시 비우기
+     설명 : 트랜잭션 안이면 커밋 전에 다른 요청이 예전 값을 다시 담을 수 있으므로 트랜잭션이 끝난 뒤에 한번 더 지운다.
+     **/
+    public void evict(String path) {
+        cache.invalidate(path);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(path);
+                }
+            });
+        }
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -1,6 +1,6 @@
 package com.studyolle.study.validator;
 
-import com.studyolle.study.StudyRepository;
+import com.studyolle.availability.AvailabilityIndex;
 import com.studyolle.study.form.StudyForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -11,7 +11,7 @@ import org.springframework.validation.Validator;
 @RequiredArgsConstructor
 public class StudyFormValidator implements Validator {
 
-    private final StudyRepository studyRepository;
+    private final AvailabilityIndex availabilityIndex;
 
     @Override
     public boolean supports(Class<?> clazz) {
@@ -21,7 +21,7 @@ public class StudyFormValidator implements Validator {
     @Override
     public void validate(Object target, Errors errors) {
         StudyForm studyForm = (StudyForm)target;
-        if (studyRepository.existsByPath(studyForm.getPath())) { //주소가 있으면 True, 없으면 False.
+        if (!availabilityIndex.isStudyPathAvailable(studyForm.getPath())) { //사용중인 주소면 False. 확실히 없는 주소는 DB를 조회하지 않는다.
             errors.rejectValue("path", "wrong.path", "해당 스터디 경로값을 사용할 수 없습니다.");
         }
     }
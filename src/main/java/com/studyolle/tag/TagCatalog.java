@@ -0,0 +1,89 @@
+package com.studyolle.tag;
+
+import com.studyolle.common.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** TagCatalog 메모리에 올려둔 태그 사전
+ 목적 : 관심 주제 화면마다 tagRepository.findAll()로 전체 태그를 읽어 whitelist를 만들지 않기 위해서
+ 설명 : 처음 조회할 때 태그 이름만 한번 읽어 접두어 색인을 만들고, 이후에는 새 태그가 커밋될 때마다 하나씩 추가한다.
+ 비고 : 태그 변경은 TagCatalogListener가 알려준다.
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagCatalog {
+
+    private final TagRepository tagRepository;
+
+    private final PrefixIndex<String> titles = new PrefixIndex<>();
+    private volatile boolean loaded;
+
+    /** search
+     목적 : 태그 자동완성
+     설명 : keyword로 시작하는 태그 이름을 최대 limit개 반환
+     **/
+    public List<String> search(String keyword, int limit) {
+        load();
+        return titles.search(keyword, limit);
+    }
+
+    /** first
+     목적 : 기본 whitelist
+     설명 : 이름 순으로 앞쪽 태그를 최대 limit개 반환
+     **/
+    public List<String> first(int limit) {
+        load();
+        return titles.first(limit);
+    }
+
+    /** add
+     목적 : 새 태그 추가
+     설명 : 아직 사전을 읽기 전이면 나중에 DB에서 함께 읽히므로 건너뛴다.
+     비고 : 읽는 중이면 사전 잠금을 기다렸다가 읽은 뒤에 추가한다. 읽기 전에 커밋된 태그여도 같은 이름을 다시 넣을 뿐이다.
+     **/
+    public void add(String title) {
+        if (loaded) {
+            titles.add(title, title, title);
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                titles.add(title, title, title);
+            }
+        }
+    }
+
+    /** remove
+     목적 : 태그 삭제
+     비고 : 읽는 중에 지운 태그가 이미 읽혔을 수 있으므로 add와 같이 읽기가 끝난 뒤에 지운다.
+     **/
+    public void remove(String title) {
+        if (loaded) {
+            titles.remove(title, title);
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                titles.remove(title, title);
+            }
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<String> allTitles = tagRepository.findAllTitles();
+                allTitles.forEach(title -> titles.add(title, title, title));
+                loaded = true;
+                log.info("tag catalog loaded: {} tags", allTitles.size());
+            }
+        }
+    }
+}
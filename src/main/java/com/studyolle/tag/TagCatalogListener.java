@@ -0,0 +1,47 @@
+package com.studyolle.tag;
+
+import com.studyolle.domain.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+
+/** TagCatalogListener Tag 변경 감지
+ 목적 : 새 태그가 생기면 TagCatalog에 바로 추가하기 위해서
+ 설명 : 롤백된 태그가 사전에 남지 않도록 트랜잭션이 커밋된 뒤에 반영한다.
+ 비고 : 하이버네이트가 스프링 빈으로 생성하므로 TagCatalog는 ObjectProvider로 나중에 꺼낸다.
+ **/
+@RequiredArgsConstructor
+public class TagCatalogListener {
+
+    private final ObjectProvider<TagCatalog> tagCatalog;
+
+    @PostPersist
+    public void tagCreated(Tag tag) {
+        String title = tag.getTitle();
+        afterCommit(() -> tagCatalog.ifAvailable(catalog -> catalog.add(title)));
+    }
+
+    @PostRemove
+    public void tagRemoved(Tag tag) {
+        String title = tag.getTitle();
+        afterCommit(() -> tagCatalog.ifAvailable(catalog -> catalog.remove(title)));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -2,9 +2,15 @@ package com.studyolle.tag;
 
 import com.studyolle.domain.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Tag findByTitle(String title);
+
+    @Query("select t.title from Tag t order by t.title") //태그 사전에는 이름만 필요하므로 엔티티 대신 이름만 조회
+    List<String> findAllTitles();
 }
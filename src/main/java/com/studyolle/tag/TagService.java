@@ -0,0 +1,26 @@
+package com.studyolle.tag;
+
+import com.studyolle.domain.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TagService {
+
+    private final TagRepository tagRepository;
+
+    /** findOrCreateNew
+     목적 : 태그 조회 또는 생성
+     설명 : 같은 이름의 태그가 없으면 새로 저장한다. 새 태그는 커밋 후 TagCatalog에 추가된다.
+     **/
+    public Tag findOrCreateNew(String title) {
+        Tag tag = tagRepository.findByTitle(title); //없으면 null 반환
+        if (tag == null) {
+            tag = tagRepository.save(Tag.builder().title(title).build());
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,137 @@
+package com.studyolle.zone;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.common.PrefixIndex;
+import com.studyolle.domain.Zone;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** ZoneCatalog 메모리에 올려둔 지역 목록
+ 목적 : 지역 설정 화면을 열 때마다 zoneRepository.findAll()과 JSON 직렬화를 반복하지 않기 위해서
+ 설명 : 지역 전체를 한번 읽어 변경되지 않는 스냅샷(whitelist JSON, 도시/도 색인, 접두어 색인)을 만들어 둔다.
+ 비고 : Zone이 저장/수정/삭제되면 ZoneCatalogListener가 스냅샷을 버리고, 다음 조회 때 다시 만든다.
+ **/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ZoneCatalog {
+
+    private final ZoneRepository zoneRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    /** getWhitelistJson
+     목적 : Tagify whitelist
+     설명 : 미리 직렬화해 둔 지역 이름 목록 JSON을 반환
+     **/
+    public String getWhitelistJson() {
+        return snapshot().whitelistJson;
+    }
+
+    /** findByCityAndProvince
+     목적 : 지역 조회
+     설명 : DB 대신 도시/도 색인에서 지역을 찾는다. 없으면 null
+     **/
+    public Zone findByCityAndProvince(String city, String province) {
+        return snapshot().byCityAndProvince.get(key(city, province));
+    }
+
+    /** search
+     목적 : 지역 자동완성
+     설명 : 도시 영문명, 한글명, 도 이름 중 하나가 keyword로 시작하는 지역 이름을 최대 limit개 반환
+     **/
+    public List<String> search(String keyword, int limit) {
+        return snapshot().prefixIndex.search(keyword, limit);
+    }
+
+    /** refresh
+     목적 : 스냅샷 다시 만들기
+     설명 : DB에서 지역 전체를 읽어 새 스냅샷으로 교체한다.
+     **/
+    public synchronized void refresh() {
+        snapshot = build(zoneRepository.findAll());
+    }
+
+    /** invalidate
+     목적 : 스냅샷 버리기
+     설명 : 트랜잭션 안이면 롤백된 데이터가 스냅샷에 남지 않도록 트랜잭션이 끝난 뒤에도 한번 더 버린다.
+     비고 : 지역을 한꺼번에 저장할 때 행마다 콜백이 쌓이지 않도록 트랜잭션당 한번만 등록한다.
+     **/
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ZoneCatalog.this);
+                    clear();
+                }
+            });
+        }
+    }
+
+    private synchronized void clear() { //만드는 중인 스냅샷이 있으면 끝날 때까지 기다렸다가 버린다.
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = build(zoneRepository.findAll());
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build(List<Zone> zones) {
+        Map<String, Zone> byCityAndProvince = new HashMap<>();
+        PrefixIndex<String> prefixIndex = new PrefixIndex<>();
+        for (Zone zone : zones) {
+            String name = zone.toString();
+            byCityAndProvince.put(key(zone.getCity(), zone.getProvince()), zone);
+            prefixIndex.add(zone.getCity(), name, name);
+            prefixIndex.add(zone.getLocalNameOfCity(), name, name);
+            prefixIndex.add(zone.getProvince(), name, name);
+        }
+
+        List<String> names = zones.stream().map(Zone::toString).collect(Collectors.toList());
+        try {
+            log.info("zone catalog loaded: {} zones", zones.size());
+            return new Snapshot(objectMapper.writeValueAsString(names), Map.copyOf(byCityAndProvince), prefixIndex);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("지역 목록을 JSON으로 변환할 수 없습니다.", e);
+        }
+    }
+
+    private static String key(String city, String province) {
+        return city + "/" + province;
+    }
+
+    private static class Snapshot {
+
+        private final String whitelistJson;
+        private final Map<String, Zone> byCityAndProvince; //"도시/도" -> Zone
+        private final PrefixIndex<String> prefixIndex;
+
+        private Snapshot(String whitelistJson, Map<String, Zone> byCityAndProvince, PrefixIndex<String> prefixIndex) {
+            this.whitelistJson = whitelistJson;
+            this.byCityAndProvince = byCityAndProvince;
+            this.prefixIndex = prefixIndex;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.studyolle.zone;
+
+import com.studyolle.domain.Zone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/** ZoneCatalogListener Zone 변경 감지
+ 목적 : Zone이 바뀌었을 때만 ZoneCatalog를 다시 만들기 위해서
+ 비고 : 하이버네이트가 스프링 빈으로 생성한다. EntityManagerFactory보다 먼저 만들어질 수 있어서 ZoneCatalog는 ObjectProvider로 나중에 꺼낸다.
+ **/
+@RequiredArgsConstructor
+public class ZoneCatalogListener {
+
+    private final ObjectProvider<ZoneCatalog> zoneCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void zoneChanged(Zone zone) {
+        zoneCatalog.ifAvailable(ZoneCatalog::invalidate);
+    }
+}
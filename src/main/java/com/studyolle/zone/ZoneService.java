@@ -1,36 +1,102 @@
 package com.studyolle.zone;
 
+import com.studyolle.config.ZoneDataProperties;
 import com.studyolle.domain.Zone;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class ZoneService {
 
     private final ZoneRepository zoneRepository;
+    private final ZoneCatalog zoneCatalog;
+    private final ZoneDataProperties zoneDataProperties;
+    private final ResourceLoader resourceLoader;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
 
     @PostConstruct
-    public void initZoneData() throws IOException {
+    public void initZoneData() {
         if (zoneRepository.count() == 0) {
-            Resource resource = new ClassPathResource("zones_kr.csv");
-            List<Zone> zoneList = Files.readAllLines(resource.getFile().toPath(), StandardCharsets.UTF_8).stream()
-                    .map(line -> {
-                        String[] split = line.split(",");
-                        return Zone.builder().city(split[0]).localNameOfCity(split[1]).province(split[2]).build();
-                    }).collect(Collectors.toList());
-            zoneRepository.saveAll(zoneList);
+            loadZones(resourceLoader.getResource(zoneDataProperties.getDataLocation()));
         }
+
+        zoneCatalog.refresh(); //지역 목록은 거의 바뀌지 않으므로 시작할 때 메모리에 올려둔다.
+    }
+
+    /** loadZones
+     목적 : 지역 CSV 저장
+     설명 : 파일 전체를 메모리에 올리지 않고 한 줄씩 읽어서 저장한다. chunk-size마다 flush해서 INSERT를 JDBC 배치로 보내고 영속성 컨텍스트를 비운다.
+           빈 줄은 건너뛰고, 열이 세 개(도시,한글 이름,도)가 아닌 줄은 줄 번호를 경고로 남기고 건너뛴다. 한 줄 때문에 시작이 멈추지 않게 하기 위해서다.
+     비고 : @PostConstruct는 프록시를 거치지 않아 @Transactional이 적용되지 않으므로 TransactionTemplate으로 한 트랜잭션에 묶는다.
+           jar 안에서도 읽을 수 있도록 getFile() 대신 getInputStream()을 쓴다.
+     **/
+    int loadZones(Resource resource) {
+        long start = System.nanoTime();
+        Integer count = new TransactionTemplate(transactionManager).execute(status -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                return saveInChunks(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(resource.getDescription() + "을(를) 읽을 수 없습니다.", e);
+            }
+        });
+        log.info("zone data loaded: {} zones from {} in {} ms", count, resource.getDescription(), (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private int saveInChunks(BufferedReader reader) throws IOException {
+        int chunkSize = zoneDataProperties.getChunkSize();
+        List<Zone> chunk = new ArrayList<>(chunkSize);
+        int count = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split(",", -1); //도(province)가 비어 있는 줄도 읽는다.
+            if (columns.length != 3 || columns[0].isBlank() || columns[1].isBlank()) {
+                log.warn("zone data line {} skipped, expected city,localNameOfCity,province: {}", lineNumber, line);
+                continue;
+            }
+            chunk.add(toZone(columns));
+            if (chunk.size() == chunkSize) {
+                count += flush(chunk);
+            }
+        }
+        return count + flush(chunk);
+    }
+
+    private int flush(List<Zone> chunk) {
+        int size = chunk.size();
+        chunk.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear(); //저장한 Zone을 영속성 컨텍스트에 계속 들고 있지 않는다.
+        chunk.clear();
+        return size;
+    }
+
+    private static Zone toZone(String[] columns) {
+        return Zone.builder().city(columns[0].trim()).localNameOfCity(columns[1].trim()).province(columns[2].trim()).build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+-- 엔티티별 시퀀스(account_seq 등) 맞추기 (PostgreSQL, dev 프로필에서 시작할 때 실행)
+-- hibernate_sequence로 id를 받던 DB에 ddl-auto=update가 새 시퀀스를 1부터 만들면 첫 INSERT가 기존 id와 겹친다.
+-- 시퀀스가 테이블의 max(id)보다 뒤에 있을 때만 max(id) + 50(allocationSize)으로 올린다. 이미 앞서 있으면 아무것도 하지 않는다.
+SELECT setval('account_seq', (SELECT MAX(id) FROM account) + 50) WHERE (SELECT last_value FROM account_seq) < (SELECT COALESCE(MAX(id), 0) FROM account);
+SELECT setval('study_seq', (SELECT MAX(id) FROM study) + 50) WHERE (SELECT last_value FROM study_seq) < (SELECT COALESCE(MAX(id), 0) FROM study);
+SELECT setval('tag_seq', (SELECT MAX(id) FROM tag) + 50) WHERE (SELECT last_value FROM tag_seq) < (SELECT COALESCE(MAX(id), 0) FROM tag);
+SELECT setval('zone_seq', (SELECT MAX(id) FROM zone) + 50) WHERE (SELECT last_value FROM zone_seq) < (SELECT COALESCE(MAX(id), 0) FROM zone);
+SELECT setval('image_seq', (SELECT MAX(id) FROM image) + 50) WHERE (SELECT last_value FROM image_seq) < (SELECT COALESCE(MAX(id), 0) FROM image);
@@ -0,0 +1,146 @@
+package com.studyolle;
+
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Study;
+import com.studyolle.monitoring.QueryStats;
+import com.studyolle.monitoring.QueryStatsInterceptor;
+import com.studyolle.study.StudyRepository;
+import com.studyolle.study.StudyService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** QueryCountTest
+ 목적 : 화면마다 실행되는 쿼리 수가 늘어나지 않는지(N+1) 확인
+ 설명 : 하이버네이트 통계로 요청 한번에 준비된 SQL 수와 지연 로딩된 컬렉션 수를 센다.
+       @CurrentAccount 조회 1번 + 화면에 필요한 연관관계를 join으로 가져오는 1번이 기준이다.
+ 비고 : 메모리 캐시(태그 사전, 지역 목록)가 처음 만들어지는 쿼리는 빼고 세기 위해 같은 요청을 한번 먼저 보낸다.
+       준비하면서 넣은 도메인 이벤트도 먼저 전달해둔다. (통계는 스레드를 가리지 않고 센다.)
+ **/
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.outbox.poll-interval=1h"}) //outbox 확인 쿼리가 세는 도중에 끼어들지 않게 한다.
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired QueryStats queryStats;
+    @Autowired StudyRepository studyRepository;
+    @Autowired StudyService studyService;
+    @Autowired TaskScheduler taskScheduler;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("관심 주제 화면 - 계정, 태그 한번에")
+    @Test
+    void tags() throws Exception {
+        assertQueryCount("/settings/tags", 2);
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("활동 지역 화면 - 계정, 지역 한번에")
+    @Test
+    void zones() throws Exception {
+        assertQueryCount("/settings/zones", 2);
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("프로필 화면 - 연관관계 없이 계정만")
+    @Test
+    void profile() throws Exception {
+        assertQueryCount("/profile/keesun", 2);
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 화면 - 캐시된 스터디 화면이면 계정만")
+    @Test
+    void study() throws Exception {
+        Study study = new Study();
+        study.setPath("test-path");
+        study.setTitle("study title");
+        studyService.createNewStudy(study, accountRepository.findByNickname("keesun"));
+
+        assertQueryCount("/study/test-path", 1);
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("공개된 스터디 목록 - 인덱스로 id 찾기, id로 행 읽기")
+    @Test
+    void studies() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            Study study = new Study();
+            study.setPath("study-" + i);
+            study.setPublished(true);
+            study.setPublishedDateTime(LocalDateTime.now().minusMinutes(i));
+            studyService.createNewStudy(study, accountRepository.findByNickname("keesun"));
+        }
+
+        assertQueryCount("/studies?size=10", 2);
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("요청별 쿼리 수 응답 헤더와 컨트롤러 메서드별 통계")
+    @Test
+    void queryStats() throws Exception {
+        queryStats.reset();
+
+        mockMvc.perform(get("/settings/tags"))
+                .andExpect(header().exists(QueryStatsInterceptor.QUERY_COUNT_HEADER));
+
+        mockMvc.perform(get("/query-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.handler == 'SettingsController.updateTags')].requests").value(1));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("쿼리 통계 - 허용하지 않은 주소에서는 로그인해도 막는다")
+    @Test
+    void queryStats_otherAddress() throws Exception {
+        mockMvc.perform(get("/query-stats")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        }))
+                .andExpect(status().isForbidden());
+    }
+
+    private void assertQueryCount(String url, int expected) throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        taskScheduler.schedule(() -> { }, Instant.now()).get(); //커밋 직후 깨운 이벤트 전달이 끝날 때까지 기다린다.
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        assertEquals(expected, statistics.getPrepareStatementCount(), url + " prepared statements");
+        assertEquals(0, statistics.getCollectionFetchCount(), url + " lazy collection fetches");
+    }
+}
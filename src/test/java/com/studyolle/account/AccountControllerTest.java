@@ -1,6 +1,8 @@
 package com.studyolle.account;
 
+import com.studyolle.config.BoundedPasswordEncoder;
 import com.studyolle.domain.Account;
+import com.studyolle.event.DomainEventRelay;
 import com.studyolle.mail.EmailMessage;
 import com.studyolle.mail.EmailService;
 import org.junit.jupiter.api.DisplayName;
@@ -9,17 +11,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.servlet.http.Cookie;
+import java.util.Base64;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
-import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
-import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,12 +54,24 @@ class AccountControllerTest {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private DomainEventRelay domainEventRelay;
+
+    @Autowired
+    private SignUpMailListener signUpMailListener;
+
+    @Autowired
+    private SessionRepository<? extends Session> sessionRepository;
+
 //    @MockBean //이메일 보냈는지 확인하기 위해서 MockBean 생성
 //    JavaMailSender javaMailSender;
 
     @MockBean
     EmailService emailService;
 
+    @SpyBean
+    BoundedPasswordEncoder passwordEncoder;
+
     @DisplayName("인증 메일 확인 - 입력값 오류")
     @Test
     void checkEmailToken_with_wrong_input() throws Exception {
@@ -54,7 +81,7 @@ class AccountControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(model().attributeExists("error"))
                 .andExpect(view().name("account/checked-email"))
-                .andExpect(unauthenticated()); //인증이 된 사용자인지 아닌지 확인할수있다.
+                .andExpect(result -> assertNull(storedAuthentication(result))); //인증이 된 사용자인지 아닌지 확인할수있다.
     }
 
     @DisplayName("인증 메일 확인 - 입력값 정상")
@@ -76,7 +103,7 @@ class AccountControllerTest {
                 .andExpect(model().attributeExists("nickname"))
                 .andExpect(model().attributeExists("numberOfUser"))
                 .andExpect(view().name("account/checked-email"))
-                .andExpect(authenticated().withUsername("keesun")); //인증이 된 사용자인지 아닌지 확인할수있다.
+                .andExpect(result -> assertEquals("keesun", storedAuthentication(result).getName())); //인증이 된 사용자인지 아닌지 확인할수있다.
     }
 
     @DisplayName("회원가입 화면 보이는지 테스트")
@@ -87,7 +114,7 @@ class AccountControllerTest {
                 .andExpect(status().isOk()) //응답의 HTTP 상태 코드가 200 OK인지 확인. 아니면 테스트 실패.
                 .andExpect(view().name("account/sign-up")) //반환한 뷰의 이름이 "account/sign-up" 인지 확인.
                 .andExpect(model().attributeExists("signUpForm")) //model객체 attribute에 "signUpForm" 이라는 이름이 존재하는지 확인.
-                .andExpect(unauthenticated());
+                .andExpect(result -> assertNull(storedAuthentication(result)));
     }
 
     @DisplayName("회원 가입 처리 - 입력값 오류")
@@ -100,11 +127,12 @@ class AccountControllerTest {
                         .with(csrf())) //이 코드를 넣어주지않으면 테스트 실패한다. 그 이유는 SecurityConfig에서 접근을 허용해도 클라이언트에서 csrf토큰이 들어오지않으면, 데이터가 전송되지 않는다.
                 .andExpect(status().isOk())
                 .andExpect(view().name("account/sign-up"))
-                .andExpect(unauthenticated());
+                .andExpect(result -> assertNull(storedAuthentication(result)));
     }
 
     @DisplayName("회원 가입 처리 - 입력값 정상")
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) //가입이 커밋되어야 outbox의 가입 이벤트가 전달된다.
     void signUpSubmit_with_correct_input() throws Exception {
         mockMvc.perform(post("/sign-up")
                         .param("nickname", "sadasd")
@@ -113,15 +141,118 @@ class AccountControllerTest {
                         .with(csrf())) //이 코드를 넣어주지않으면 테스트 실패한다. 그 이유는 SecurityConfig에서 접근을 허용해도 클라이언트에서 csrf토큰이 들어오지않으면, 데이터가 전송되지 않는다.
                 .andExpect(status().is3xxRedirection()) //HTTP 응답 상태 코드가 3xx 범위 내에 있는지(즉, 리다이렉션 상태인지) 확인한다.
                 .andExpect(view().name("redirect:/"))
-                .andExpect(authenticated().withUsername("sadasd"));
+                .andExpect(result -> assertEquals("sadasd", storedAuthentication(result).getName()));
 
         Account account = accountRepository.findByEmail("email@email.com"); //이메일 중복확인
         assertNotNull(account); //이메일 중복 아니면
         assertNotEquals(account.getPassword(), "12222342"); //"암호화된 비밀번호" 와 "raw비밀번호" 가 동일한지 테스트
         assertNotNull(account.getEmailCheckToken()); //이메일전송 토큰 있는지 확인
+        domainEventRelay.relay(); //가입 확인 메일은 outbox를 거쳐 커밋된 뒤에 보낸다.
         then(emailService).should().sendEmail(any(EmailMessage.class)); //아무 객체를 사용해 메일을 전송하고 확인한다.
+
+        signUpMailListener.onSignedUp(new AccountSignedUpEvent(account.getId())); //가입 이벤트가 다시 전달되어도
+        then(emailService).should(times(1)).sendEmail(any(EmailMessage.class)); //한 번만 보낸다.
+        assertNotNull(accountRepository.findById(account.getId()).orElseThrow().getSignUpMailSentAt());
+        accountRepository.delete(account);
+    }
+
+    @DisplayName("회원 가입 처리 - 검사 뒤에 다른 곳에서 같은 이메일로 가입하면 unique 제약 위반을 폼 에러로")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) //가입 트랜잭션이 커밋될 때 unique 제약에 걸린다.
+    void signUpSubmit_with_concurrent_duplicate() throws Exception {
+        Account other = accountRepository.save(Account.builder() //중복 확인 색인(AvailabilityIndex)을 거치지 않고 저장된 계정 - 다른 서버에서 가입한 경우
+                .email("taken@email.com").nickname("other").password("12345678").build());
+
+        mockMvc.perform(post("/sign-up")
+                        .param("nickname", "taken")
+                        .param("email", "taken@email.com")
+                        .param("password", "12345678")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("account/sign-up"))
+                .andExpect(model().attributeHasFieldErrors("signUpForm", "email"))
+                .andExpect(result -> assertNull(storedAuthentication(result)));
+
+        assertNull(accountRepository.findByNickname("taken"));
+        accountRepository.delete(other);
     }
 
+    @DisplayName("회원 가입 처리 - 비밀번호 해시 대기열이 가득 차면 503으로 가입창을 다시 보여준다")
+    @Test
+    void signUpSubmit_with_hashing_rejected() throws Exception {
+        willThrow(new AuthenticationServiceException("잠시 후 다시 시도해 주세요.")).given(passwordEncoder).encode(any());
 
+        mockMvc.perform(post("/sign-up")
+                        .param("nickname", "busy")
+                        .param("email", "busy@email.com")
+                        .param("password", "12345678")
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(view().name("account/sign-up"))
+                .andExpect(model().attribute("error", "잠시 후 다시 시도해 주세요."));
+
+        assertNull(accountRepository.findByNickname("busy"));
+    }
+
+    @DisplayName("이메일 로그인 - 같은 이메일로 너무 많이 요청하면 429")
+    @Test
+    void sendEmailLoginLink_rateLimitedByEmail() throws Exception {
+        for (int i = 0; i < 3; i++) { //app.mail-rate-limit.recipient-capacity
+            mockMvc.perform(post("/email-login")
+                            .param("email", "limited@email.com")
+                            .with(remoteAddr("10.0.0.1"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("error", "유효한 이메일 주소가 아닙니다."));
+        }
+
+        mockMvc.perform(post("/email-login")
+                        .param("email", "LIMITED@email.com") //대소문자를 가리지 않는다.
+                        .with(remoteAddr("10.0.0.1"))
+                        .with(csrf()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(view().name("account/email-login"))
+                .andExpect(model().attributeExists("error"));
+    }
 
-}
\ No newline at end of file
+    @DisplayName("이메일 로그인 - 같은 IP에서 너무 많이 요청하면 429")
+    @Test
+    void sendEmailLoginLink_rateLimitedByIp() throws Exception {
+        for (int i = 0; i < 20; i++) { //app.mail-rate-limit.ip-capacity
+            mockMvc.perform(post("/email-login")
+                            .param("email", "user" + i + "@email.com")
+                            .with(remoteAddr("10.0.0.2"))
+                            .with(csrf()))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/email-login")
+                        .param("email", "other@email.com")
+                        .with(remoteAddr("10.0.0.2"))
+                        .with(csrf()))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(post("/email-login")
+                        .param("email", "other@email.com")
+                        .with(remoteAddr("10.0.0.3")) //다른 IP는 따로 센다.
+                        .with(csrf()))
+                .andExpect(status().isOk());
+    }
+
+    private Authentication storedAuthentication(MvcResult result) { //로그인 정보는 MockHttpSession이 아니라 세션 저장소(JDBC)에 있다.
+        Cookie sessionCookie = result.getResponse().getCookie("SESSION");
+        if (sessionCookie == null) {
+            return null;
+        }
+        Session session = sessionRepository.findById(new String(Base64.getDecoder().decode(sessionCookie.getValue())));
+        SecurityContext securityContext = session == null ? null : session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        return securityContext == null ? null : securityContext.getAuthentication();
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
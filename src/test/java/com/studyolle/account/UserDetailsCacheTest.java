@@ -0,0 +1,65 @@
+package com.studyolle.account;
+
+import com.studyolle.config.UserDetailsCacheProperties;
+import com.studyolle.domain.Account;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(new UserDetailsCacheProperties());
+
+    private final Account account = Account.builder().id(1L).nickname("keesun").email("keesun@email.com")
+            .password("{bcrypt}secret").build();
+
+    @DisplayName("두번째 조회부터는 캐시에서 꺼내고, 꺼낼 때마다 새 UserAccount를 만든다")
+    @Test
+    void get() {
+        AtomicInteger loads = new AtomicInteger();
+
+        UserAccount first = userDetailsCache.get("keesun", key -> { loads.incrementAndGet(); return account; });
+        first.eraseCredentials(); //인증이 끝나면 스프링 시큐리티가 비밀번호를 지운다.
+        UserAccount second = userDetailsCache.get("keesun", key -> { loads.incrementAndGet(); return account; });
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertEquals("{bcrypt}secret", second.getPassword());
+        assertEquals(1, userDetailsCache.getStats().hitCount());
+    }
+
+    @DisplayName("없는 계정은 담지 않는다")
+    @Test
+    void get_notFound() {
+        assertNull(userDetailsCache.get("nobody", key -> null));
+        assertEquals(0, userDetailsCache.getSize());
+    }
+
+    @DisplayName("이메일, 닉네임으로 담긴 항목을 모두 지운다")
+    @Test
+    void evict() {
+        userDetailsCache.get("keesun", key -> account);
+        userDetailsCache.get("keesun@email.com", key -> account);
+
+        userDetailsCache.evict(account);
+
+        assertEquals(0, userDetailsCache.getSize());
+    }
+
+    @DisplayName("예전 닉네임으로 담긴 항목도 계정 id로 찾아 지우고, 다른 계정은 남긴다")
+    @Test
+    void evict_oldNickname() {
+        Account other = Account.builder().id(2L).nickname("whiteship").email("whiteship@email.com").password("secret").build();
+        userDetailsCache.get("keesun", key -> account);
+        userDetailsCache.get("whiteship", key -> other);
+
+        Account renamed = Account.builder().id(1L).nickname("keesun2").email("keesun@email.com").build();
+        userDetailsCache.evict(renamed);
+
+        assertEquals(1, userDetailsCache.getSize());
+        assertEquals(2L, userDetailsCache.get("whiteship", key -> null).getId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.studyolle.availability;
+
+import com.studyolle.WithAccount;
+import com.studyolle.account.AccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.availability.email-ip-capacity=3"})
+@AutoConfigureMockMvc
+class AvailabilityControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void afterEach() {
+        accountRepository.deleteAll();
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("사용중인 닉네임, 이메일 - DB로 확인")
+    @Test
+    void taken() throws Exception {
+        mockMvc.perform(get("/availability/nickname").param("value", "keesun"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false));
+        mockMvc.perform(get("/availability/email").param("value", "keesun@email.com"))
+                .andExpect(jsonPath("$.available").value(false));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("사용하지 않는 닉네임, 스터디 경로 - DB 조회 없이")
+    @Test
+    void available() throws Exception {
+        mockMvc.perform(get("/availability/nickname").param("value", "warm-up")); //처음 확인할 때 DB에서 색인을 만든다.
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/availability/nickname").param("value", "whiteship"))
+                .andExpect(jsonPath("$.available").value(true));
+        mockMvc.perform(get("/availability/study-path").param("value", "new-study"))
+                .andExpect(jsonPath("$.available").value(true));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("이메일 확인 - IP마다 email-ip-capacity번까지, 닉네임 확인은 제한하지 않는다")
+    @Test
+    void email_rateLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/availability/email").param("value", "user" + i + "@email.com").with(remoteAddr("203.0.113.7")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/availability/email").param("value", "user3@email.com").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/availability/nickname").param("value", "whiteship").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/availability/email").param("value", "user3@email.com").with(remoteAddr("203.0.113.8")))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("알 수 없는 종류 - 로그인 없이 호출")
+    @Test
+    void unknownType() throws Exception {
+        mockMvc.perform(get("/availability/phone").param("value", "010"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.studyolle.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmapIndexTest {
+
+    @DisplayName("키들 중 하나라도 가진 id의 합집합")
+    @Test
+    void union() {
+        BitmapIndex index = new BitmapIndex();
+        index.add(1L, 10);
+        index.add(1L, 20);
+        index.add(2L, 20);
+        index.add(2L, 30);
+        index.add(3L, 40);
+
+        assertArrayEquals(new long[]{10, 20, 30}, index.union(List.of(1L, 2L)).toArray());
+        assertArrayEquals(new long[]{}, index.union(List.of(99L)).toArray());
+        assertTrue(index.contains(3L, 40));
+    }
+
+    @DisplayName("지운 id는 더 이상 나오지 않고, 돌려받은 비트맵을 바꿔도 색인은 그대로")
+    @Test
+    void remove() {
+        BitmapIndex index = new BitmapIndex();
+        index.add(1L, 10);
+        index.add(1L, 20);
+        index.remove(1L, 10);
+        index.remove(2L, 10); //없는 키
+
+        Roaring64NavigableMap result = index.union(List.of(1L));
+        assertArrayEquals(new long[]{20}, result.toArray());
+
+        result.addLong(30);
+        assertFalse(index.contains(1L, 30));
+    }
+
+    @DisplayName("계정 100만 명 - 압축된 크기로 들고 교집합을 구한다")
+    @Test
+    void millionAccounts() {
+        BitmapIndex tags = new BitmapIndex();
+        BitmapIndex zones = new BitmapIndex();
+        for (long accountId = 1; accountId <= 1_000_000; accountId++) {
+            tags.add(accountId % 100, accountId); //태그 100개에 고르게
+            zones.add(accountId % 3, accountId); //지역 3개에 고르게
+        }
+        tags.optimize();
+        zones.optimize();
+
+        Roaring64NavigableMap interested = tags.union(List.of(1L, 2L));
+        interested.and(zones.union(List.of(0L)));
+
+        long expected = 0;
+        for (long accountId = 1; accountId <= 1_000_000; accountId++) {
+            if ((accountId % 100 == 1 || accountId % 100 == 2) && accountId % 3 == 0) {
+                expected++;
+            }
+        }
+        assertEquals(expected, interested.getLongCardinality());
+        assertTrue(tags.sizeInBytes() + zones.sizeInBytes() < 4_000_000, "size: " + (tags.sizeInBytes() + zones.sizeInBytes())); //id 하나에 long(8바이트)로 들면 16MB
+    }
+}
@@ -0,0 +1,47 @@
+package com.studyolle.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @DisplayName("넣은 값은 항상 있을 수도 있다고 답한다")
+    @Test
+    void noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@email.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@email.com"));
+        }
+    }
+
+    @DisplayName("넣지 않은 값의 오탐률은 허용 오탐률 근처")
+    @Test
+    void falsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); //1% 예상, 여유있게 2%
+    }
+
+    @DisplayName("비어 있으면 모두 없다고 답한다")
+    @Test
+    void empty() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("keesun"));
+        assertFalse(filter.mightContain(""));
+    }
+}
@@ -0,0 +1,131 @@
+package com.studyolle.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @DisplayName("capacity개까지 허용하고, 다른 키는 따로 센다")
+    @Test
+    void capacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofHours(1), 4, 100, now::get);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+    }
+
+    @DisplayName("period 동안 capacity개가 고르게 다시 찬다")
+    @Test
+    void refill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofHours(1), 4, 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        now.addAndGet(Duration.ofMinutes(19).toNanos());
+        assertFalse(limiter.tryAcquire("a"));
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos()); //20분에 하나
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+
+        now.addAndGet(Duration.ofDays(1).toNanos()); //capacity보다 더 차지는 않는다.
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @DisplayName("여러 스레드가 같은 키로 요청해도 capacity개만 허용한다")
+    @Test
+    void concurrent() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, Duration.ofHours(1), 4, 100, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("same")) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, acquired.get());
+    }
+
+    @DisplayName("여러 버킷 중 하나라도 토큰이 없으면 어느 버킷의 토큰도 쓰지 않는다")
+    @Test
+    void acquireAll() {
+        TokenBucketRateLimiter ipLimiter = new TokenBucketRateLimiter(3, Duration.ofHours(1), 4, 100, now::get);
+        TokenBucketRateLimiter recipientLimiter = new TokenBucketRateLimiter(1, Duration.ofHours(1), 4, 100, now::get);
+        List<TokenBucketRateLimiter> limiters = List.of(ipLimiter, recipientLimiter);
+
+        assertEquals(-1, TokenBucketRateLimiter.tryAcquireAll(limiters, List.of("ip", "a@email.com")));
+        assertEquals(1, TokenBucketRateLimiter.tryAcquireAll(limiters, List.of("ip", "a@email.com")));
+        assertEquals(1, TokenBucketRateLimiter.tryAcquireAll(limiters, List.of("ip", "a@email.com")));
+
+        assertTrue(ipLimiter.tryAcquire("ip")); //거절된 요청은 IP 토큰을 쓰지 않았다.
+        assertTrue(ipLimiter.tryAcquire("ip"));
+        assertFalse(ipLimiter.tryAcquire("ip"));
+        assertEquals(0, TokenBucketRateLimiter.tryAcquireAll(limiters, List.of("ip", "b@email.com")));
+        assertTrue(recipientLimiter.tryAcquire("b@email.com"));
+    }
+
+    @DisplayName("여러 스레드가 키를 서로 다른 순서로 넘겨도 멈추지 않고 capacity개만 허용한다")
+    @Test
+    void acquireAll_concurrent() throws InterruptedException {
+        TokenBucketRateLimiter first = new TokenBucketRateLimiter(100, Duration.ofHours(1), 1, 100, now::get);
+        TokenBucketRateLimiter second = new TokenBucketRateLimiter(100, Duration.ofHours(1), 1, 100, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            boolean reversed = i % 2 == 0;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                int rejected = reversed
+                        ? TokenBucketRateLimiter.tryAcquireAll(List.of(second, first), List.of("b", "a"))
+                        : TokenBucketRateLimiter.tryAcquireAll(List.of(first, second), List.of("a", "b"));
+                if (rejected < 0) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, acquired.get());
+        assertFalse(first.tryAcquire("a"));
+        assertFalse(second.tryAcquire("b"));
+    }
+}
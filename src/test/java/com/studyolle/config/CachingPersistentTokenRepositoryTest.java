@@ -0,0 +1,98 @@
+package com.studyolle.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.remember-me.single-node=true", //갱신을 모았다가 쓰는 경우
+        "app.remember-me.flush-interval=1h" //테스트 중에 주기 작업이 끼어들지 않도록
+})
+class CachingPersistentTokenRepositoryTest {
+
+    @Autowired CachingPersistentTokenRepository tokenRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from persistent_logins");
+    }
+
+    @DisplayName("토큰 갱신은 메모리에 먼저 반영하고, flush할 때 마지막 값만 DB에 쓴다")
+    @Test
+    void updateToken() {
+        tokenRepository.createNewToken(new PersistentRememberMeToken("keesun", "series", "token-1", new Date()));
+
+        tokenRepository.updateToken("series", "token-2", new Date());
+        tokenRepository.updateToken("series", "token-3", new Date());
+
+        assertEquals("token-3", tokenRepository.getTokenForSeries("series").getTokenValue());
+        assertEquals("token-1", tokenInDatabase());
+        assertEquals(1, tokenRepository.getPendingCount());
+
+        tokenRepository.flush();
+
+        assertEquals("token-3", tokenInDatabase());
+        assertEquals(0, tokenRepository.getPendingCount());
+    }
+
+    @DisplayName("사용자 토큰 삭제는 메모리와 DB에서 바로 지운다")
+    @Test
+    void removeUserTokens() {
+        tokenRepository.createNewToken(new PersistentRememberMeToken("keesun", "series", "token-1", new Date()));
+        tokenRepository.updateToken("series", "token-2", new Date());
+
+        tokenRepository.removeUserTokens("keesun");
+        tokenRepository.flush();
+
+        assertNull(tokenRepository.getTokenForSeries("series"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from persistent_logins", Integer.class));
+    }
+
+    @DisplayName("서버가 여러 대면 - 갱신은 바로 DB에 쓰고, 다른 서버가 바꾼 토큰은 DB에서 다시 읽는다")
+    @Test
+    void multiNode() {
+        RememberMeProperties properties = new RememberMeProperties();
+        properties.setSingleNode(false);
+        JdbcTokenRepositoryImpl jdbcTokenRepository = new JdbcTokenRepositoryImpl();
+        jdbcTokenRepository.setJdbcTemplate(jdbcTemplate);
+        CachingPersistentTokenRepository nodeA = new CachingPersistentTokenRepository(jdbcTokenRepository, jdbcTemplate, properties);
+        CachingPersistentTokenRepository nodeB = new CachingPersistentTokenRepository(jdbcTokenRepository, jdbcTemplate, properties);
+
+        nodeA.createNewToken(new PersistentRememberMeToken("keesun", "series", "token-1", new Date()));
+        assertEquals("token-1", nodeB.getTokenForSeries("series").getTokenValue()); //B의 메모리에 담긴다.
+
+        nodeA.updateToken("series", "token-2", new Date());
+        assertEquals("token-2", tokenInDatabase());
+        assertEquals(0, nodeA.getPendingCount());
+
+        nodeB.refreshIfStale("series", "token-2"); //쿠키에는 A가 준 새 토큰
+        assertEquals("token-2", nodeB.getTokenForSeries("series").getTokenValue());
+    }
+
+    @DisplayName("유효기간보다 오래 쓰지 않은 토큰은 지운다")
+    @Test
+    void sweep() {
+        Date old = new Date(System.currentTimeMillis() - 15L * 24 * 60 * 60 * 1000);
+        tokenRepository.createNewToken(new PersistentRememberMeToken("keesun", "old-series", "token", old));
+        tokenRepository.createNewToken(new PersistentRememberMeToken("keesun", "new-series", "token", new Date()));
+
+        tokenRepository.sweep();
+
+        assertNull(tokenRepository.getTokenForSeries("old-series"));
+        assertNotNull(tokenRepository.getTokenForSeries("new-series"));
+    }
+
+    private String tokenInDatabase() {
+        return jdbcTemplate.queryForObject("select token from persistent_logins where series = ?", String.class, "series");
+    }
+}
@@ -0,0 +1,73 @@
+package com.studyolle.config;
+
+import com.studyolle.account.UserAccount;
+import com.studyolle.domain.Account;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer("key");
+
+    @DisplayName("로그인 정보는 필요한 값만 저장하고 그대로 복원한다")
+    @Test
+    void securityContext() {
+        Account account = Account.builder().id(1L).nickname("keesun").email("keesun@email.com")
+                .password("{bcrypt}secret").emailVerified(true).profileImage("/images/3").build();
+        UserAccount principal = new UserAccount(account);
+        SecurityContext context = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(principal, account.getPassword(), principal.getAuthorities()));
+
+        byte[] bytes = serializer.serialize(context);
+        SecurityContext restored = (SecurityContext) serializer.deserialize(bytes);
+
+        UserAccount restoredPrincipal = (UserAccount) restored.getAuthentication().getPrincipal();
+        assertTrue(restored.getAuthentication().isAuthenticated());
+        assertNull(restored.getAuthentication().getCredentials());
+        assertEquals(1L, restoredPrincipal.getId());
+        assertEquals("keesun", restoredPrincipal.getUsername());
+        assertEquals("keesun@email.com", restoredPrincipal.getEmail());
+        assertTrue(restoredPrincipal.isEmailVerified());
+        assertEquals("/images/3", restoredPrincipal.getAvatar());
+        assertIterableEquals(principal.getAuthorities(), restored.getAuthentication().getAuthorities());
+        assertTrue(bytes.length < 100);
+        assertEquals(bytes.length, serializer.getMaxBytes());
+    }
+
+    @DisplayName("remember-me 자동 로그인은 자동 로그인으로 복원한다")
+    @Test
+    void rememberMe() {
+        Account account = Account.builder().id(2L).nickname("whiteship").email("whiteship@email.com")
+                .password("{bcrypt}secret").build();
+        UserAccount principal = new UserAccount(account);
+        SecurityContext context = new SecurityContextImpl(
+                new RememberMeAuthenticationToken("key", principal, principal.getAuthorities()));
+
+        byte[] bytes = serializer.serialize(context);
+        SecurityContext restored = (SecurityContext) serializer.deserialize(bytes);
+
+        RememberMeAuthenticationToken authentication = (RememberMeAuthenticationToken) restored.getAuthentication();
+        assertEquals("key".hashCode(), authentication.getKeyHash());
+        assertEquals(2L, ((UserAccount) authentication.getPrincipal()).getId());
+        assertNull(((UserAccount) authentication.getPrincipal()).getAvatar());
+        assertTrue(bytes.length < 100);
+    }
+
+    @DisplayName("그 밖의 속성은 자바 직렬화로 저장한다")
+    @Test
+    void otherAttribute() {
+        DefaultCsrfToken token = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "token");
+
+        DefaultCsrfToken restored = (DefaultCsrfToken) serializer.deserialize(serializer.serialize(token));
+
+        assertEquals("token", restored.getToken());
+        assertEquals(1, serializer.getSerializedCount());
+    }
+}
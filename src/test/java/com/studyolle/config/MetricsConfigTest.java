@@ -0,0 +1,58 @@
+package com.studyolle.config;
+
+import com.studyolle.mail.EmailMessage;
+import com.studyolle.mail.EmailService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics //테스트에서는 Prometheus 내보내기가 꺼져 있으므로 켠다.
+class MetricsConfigTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired EmailService emailService;
+
+    @DisplayName("Prometheus 지표 - 허용한 주소(로컬)에서 로그인 없이 수집")
+    @Test
+    void prometheus() throws Exception {
+        mockMvc.perform(get("/"));
+        emailService.sendEmail(EmailMessage.builder().to("keesun@email.com").subject("지표").message("<p>지표</p>").build());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("studyolle_email_queue_depth")))
+                .andExpect(content().string(containsString("studyolle_user_details_cache_size")))
+                .andExpect(content().string(containsString("studyolle_email_delivery_seconds_bucket")))
+                .andExpect(content().string(containsString("studyolle_email_send_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+
+    @DisplayName("Prometheus 지표 - 허용하지 않은 주소에서는 막는다")
+    @Test
+    void prometheus_otherAddress() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        }))
+                .andExpect(status().is3xxRedirection()); //로그인 페이지로
+    }
+
+    @DisplayName("Prometheus 지표 이외의 actuator 엔드포인트는 노출하지 않음")
+    @Test
+    void otherEndpointsHidden() throws Exception {
+        mockMvc.perform(get("/actuator/env"))
+                .andExpect(status().is3xxRedirection()); //로그인 페이지로
+    }
+}
@@ -0,0 +1,62 @@
+package com.studyolle.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** BatchInsertTest
+ 목적 : 계정/스터디를 한꺼번에 저장할 때 INSERT가 JDBC 배치로 묶이는지 확인
+ 설명 : 하이버네이트 통계로 PreparedStatement 수를 세고, 초당 저장 건수를 로그로 남긴다.
+ **/
+@Slf4j
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchInsertTest {
+
+    private static final int COUNT = 200;
+
+    @Autowired EntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("계정, 스터디 대량 저장 - 시퀀스는 50개씩, INSERT는 배치로")
+    @Test
+    void bulkInsert() {
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            Account account = Account.builder().nickname("batch" + i).email("batch" + i + "@email.com").password("password").build();
+            entityManager.persist(account);
+            Study study = new Study(); //빌더는 managers를 초기화하지 않는다.
+            study.setPath("batch-" + i);
+            study.setTitle("study " + i);
+            study.addManager(account);
+            entityManager.persist(study);
+        }
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+
+        log.info("inserted {} accounts and {} studies in {} ms ({} rows/sec), {} statements prepared",
+                COUNT, COUNT, elapsedNanos / 1_000_000, (long) (COUNT * 2 / (elapsedNanos / 1e9)), statistics.getPrepareStatementCount());
+        assertEquals(COUNT * 2, statistics.getEntityInsertCount());
+        //시퀀스 조회(계정, 스터디 각 4~5번) + 테이블마다 배치 INSERT(account, study, study_managers) - 행마다 한번씩이면 600이 넘는다.
+        assertTrue(statistics.getPrepareStatementCount() < 40, "prepared " + statistics.getPrepareStatementCount());
+    }
+}
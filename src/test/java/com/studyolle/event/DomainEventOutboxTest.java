@@ -0,0 +1,198 @@
+package com.studyolle.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyolle.account.AccountInterestsChangedEvent;
+import com.studyolle.config.OutboxProperties;
+import com.studyolle.domain.OutboxEvent;
+import com.studyolle.study.StudyCreatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DomainEventOutboxTest {
+
+    @Autowired DomainEventOutbox domainEventOutbox;
+    @Autowired DomainEventRelay domainEventRelay;
+    @Autowired OutboxEventRepository outboxEventRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired OutboxProperties outboxProperties;
+    @Autowired ApplicationEventMulticaster applicationEventMulticaster;
+
+    private final FlakyListener flakyListener = new FlakyListener();
+
+    @BeforeEach
+    void beforeEach() {
+        domainEventRelay.relay(); //다른 테스트가 남긴 이벤트
+        outboxEventRepository.deleteAll();
+        applicationEventMulticaster.addApplicationListener(flakyListener);
+    }
+
+    @AfterEach
+    void afterEach() {
+        applicationEventMulticaster.removeApplicationListener(flakyListener);
+        outboxEventRepository.deleteAll();
+    }
+
+    @DisplayName("트랜잭션 밖에서는 이벤트를 넣을 수 없다")
+    @Test
+    void publish_withoutTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> domainEventOutbox.publish(AccountInterestsChangedEvent.tagAdded(1L, 2L)));
+    }
+
+    @DisplayName("롤백되면 이벤트도 저장되지 않는다")
+    @Test
+    void publish_rollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventOutbox.publish(AccountInterestsChangedEvent.tagAdded(1L, 2L));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @DisplayName("커밋된 이벤트는 JSON으로 저장되고, 전달하면 전달한 것으로 표시된다")
+    @Test
+    void publish_relay() throws Exception {
+        StudyCreatedEvent event = new StudyCreatedEvent(-1L, "outbox", "outbox 스터디", "짧은 소개", Set.of(1L, 2L), Set.of());
+        transactionTemplate.executeWithoutResult(status -> domainEventOutbox.publish(event));
+
+        List<OutboxEvent> saved = outboxEventRepository.findAll();
+        assertEquals(1, saved.size());
+        assertEquals(StudyCreatedEvent.class.getName(), saved.get(0).getType());
+        StudyCreatedEvent read = objectMapper.readValue(saved.get(0).getPayload(), StudyCreatedEvent.class);
+        assertEquals(event.getPath(), read.getPath());
+        assertEquals(event.getTagIds(), read.getTagIds());
+        assertEquals(event.getZoneIds(), read.getZoneIds());
+
+        domainEventRelay.relay(); //커밋 직후 깨운 전달이 먼저 끝냈을 수도 있다.
+        assertEquals(0, outboxEventRepository.countByPublishedDateTimeIsNull());
+    }
+
+    @DisplayName("읽을 수 없는 이벤트는 건너뛰고 뒤의 이벤트를 전달한다")
+    @Test
+    void relay_unreadableEvent() {
+        long failed = domainEventRelay.getFailedCount();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type("com.studyolle.NoSuchEvent")
+                .payload("{}")
+                .createdDateTime(LocalDateTime.now())
+                .build());
+        transactionTemplate.executeWithoutResult(status ->
+                domainEventOutbox.publish(AccountInterestsChangedEvent.zoneAdded(1L, 2L)));
+
+        domainEventRelay.relay();
+
+        assertEquals(0, outboxEventRepository.countByPublishedDateTimeIsNull());
+        assertEquals(failed + 1, domainEventRelay.getFailedCount());
+    }
+
+    @DisplayName("전달하지 않는 서버는 이벤트를 저장만 한다")
+    @Test
+    void relay_disabled() {
+        outboxProperties.setRelayEnabled(false);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    domainEventOutbox.publish(AccountInterestsChangedEvent.tagAdded(1L, 2L)));
+
+            assertEquals(0, domainEventRelay.relay());
+            assertEquals(1, outboxEventRepository.countByPublishedDateTimeIsNull());
+        } finally {
+            outboxProperties.setRelayEnabled(true);
+        }
+
+        domainEventRelay.relay(); //전달하는 서버가 가져간다. (주기 확인이 먼저 가져갔을 수도 있다.)
+        assertEquals(0, outboxEventRepository.countByPublishedDateTimeIsNull());
+    }
+
+    @DisplayName("리스너가 실패하면 이유를 남기고 retry-delay 뒤에 다시 전달한다")
+    @Test
+    void relay_listenerFailed() {
+        flakyListener.failures.set(1);
+        transactionTemplate.executeWithoutResult(status -> domainEventOutbox.publish(new FlakyEvent("retry")));
+
+        domainEventRelay.relay(); //커밋 직후 깨운 전달이 먼저 실패했을 수도 있다. (다시 전달할 시간이 아직 안 됐다.)
+        OutboxEvent failed = outboxEventRepository.findAll().get(0);
+        assertNull(failed.getPublishedDateTime());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("retry failed"));
+        assertTrue(failed.getNextAttemptDateTime().isAfter(LocalDateTime.now()));
+        assertEquals(0, flakyListener.received.get());
+
+        retryNow(failed);
+        domainEventRelay.relay();
+        assertEquals(0, outboxEventRepository.countByPublishedDateTimeIsNull());
+        assertEquals(1, flakyListener.received.get());
+    }
+
+    @DisplayName("max-attempts번 실패하면 포기하고 뒤의 이벤트를 막지 않는다")
+    @Test
+    void relay_maxAttempts() {
+        int maxAttempts = outboxProperties.getMaxAttempts();
+        outboxProperties.setMaxAttempts(2);
+        try {
+            flakyListener.failures.set(Integer.MAX_VALUE);
+            transactionTemplate.executeWithoutResult(status -> domainEventOutbox.publish(new FlakyEvent("give-up")));
+            domainEventRelay.relay();
+
+            retryNow(outboxEventRepository.findAll().get(0));
+            domainEventRelay.relay();
+
+            OutboxEvent givenUp = outboxEventRepository.findAll().get(0);
+            assertEquals(2, givenUp.getAttempts());
+            assertNotNull(givenUp.getPublishedDateTime());
+            assertEquals(0, flakyListener.received.get());
+        } finally {
+            outboxProperties.setMaxAttempts(maxAttempts);
+        }
+    }
+
+    private void retryNow(OutboxEvent outboxEvent) {
+        outboxEvent.setNextAttemptDateTime(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    public static class FlakyEvent implements DomainEvent {
+
+        private final String name;
+
+        public FlakyEvent(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static class FlakyListener implements ApplicationListener<PayloadApplicationEvent<FlakyEvent>> {
+
+        private final AtomicInteger failures = new AtomicInteger(); //남은 실패 횟수
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onApplicationEvent(PayloadApplicationEvent<FlakyEvent> event) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException(event.getPayload().getName() + " failed");
+            }
+            received.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.studyolle.image;
+
+import com.studyolle.domain.Image;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ImageService imageService;
+    @Autowired ImageRepository imageRepository;
+
+    @AfterEach
+    void afterEach() {
+        imageRepository.deleteAll();
+    }
+
+    @DisplayName("이미지 조회 - 로그인 없이 캐시 헤더와 함께 응답")
+    @Test
+    void image() throws Exception {
+        byte[] data = {1, 2, 3};
+        Image image = imageService.store("data:image/png;base64," + Base64.getEncoder().encodeToString(data));
+        String etag = "\"" + image.getEtag() + "\"";
+
+        mockMvc.perform(get(image.getUrl()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(data))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"));
+
+        mockMvc.perform(get(image.getUrl()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @DisplayName("이미지 조회 - 버전을 붙인 주소도 같은 이미지")
+    @Test
+    void image_versioned() throws Exception {
+        byte[] data = {4, 5, 6};
+        Image image = imageService.store("data:image/png;base64," + Base64.getEncoder().encodeToString(data));
+        String versionedUrl = ImageService.versionedUrl(image);
+
+        mockMvc.perform(get(versionedUrl))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(data));
+        assertEquals(image.getId(), ImageService.idOf(versionedUrl));
+    }
+
+    @DisplayName("이미지 조회 - 없는 이미지")
+    @Test
+    void image_notFound() throws Exception {
+        mockMvc.perform(get("/images/987654"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,59 @@
+package com.studyolle.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    private final ImageResizer imageResizer = new ImageResizer();
+
+    @DisplayName("긴 쪽이 size가 되도록 비율을 유지해서 줄인다")
+    @Test
+    void resize() throws Exception {
+        ImageResizer.Resized resized = imageResizer.resize(png(800, 400, BufferedImage.TYPE_INT_RGB), 200);
+
+        assertEquals("image/jpeg", resized.getContentType());
+        assertEquals(200, resized.getWidth());
+        assertEquals(100, resized.getHeight());
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(resized.getData()));
+        assertEquals(200, decoded.getWidth());
+    }
+
+    @DisplayName("투명도가 있으면 PNG, 작은 이미지는 키우지 않는다")
+    @Test
+    void resize_small_alpha() throws Exception {
+        ImageResizer.Resized resized = imageResizer.resize(png(40, 40, BufferedImage.TYPE_INT_ARGB), 200);
+
+        assertEquals("image/png", resized.getContentType());
+        assertEquals(40, resized.getWidth());
+    }
+
+    @DisplayName("이미지가 아니면 IllegalArgumentException")
+    @Test
+    void resize_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> imageResizer.resize(new byte[]{1, 2, 3}, 200));
+    }
+
+    @DisplayName("풀면 MAX_PIXELS보다 큰 이미지는 풀기 전에 IllegalArgumentException")
+    @Test
+    void resize_too_many_pixels() throws Exception {
+        byte[] data = png(6000, 5000, BufferedImage.TYPE_BYTE_BINARY); //압축되어 파일은 작다.
+
+        assertTrue(data.length < 1024 * 1024);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> imageResizer.resize(data, 200));
+        assertTrue(e.getMessage().contains("6000x5000"));
+    }
+
+    private static byte[] png(int width, int height, int type) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,205 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.EmailDispatchProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class Name : AsyncEmailServiceTest
+ * Description : 메일 발송 대기열 테스트 - 실제 발송은 보낸 메일과 스레드를 기록하는 가짜 EmailService로 대신한다.
+ */
+class AsyncEmailServiceTest {
+
+    private final RecordingEmailService delivery = new RecordingEmailService();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AsyncEmailService asyncEmailService;
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        delivery.gate.countDown();
+        asyncEmailService.stop();
+    }
+
+    @DisplayName("트랜잭션 안에서 요청한 메일은 커밋된 뒤에 대기열에 들어간다")
+    @Test
+    void sendEmail_afterCommit() throws InterruptedException {
+        asyncEmailService = start(10, 1, Duration.ZERO);
+
+        TransactionSynchronizationManager.initSynchronization();
+        asyncEmailService.sendEmail(emailMessage("keesun@email.com"));
+        assertEquals(0, asyncEmailService.getQueueDepth());
+        assertTrue(delivery.sent().isEmpty());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertTrue(delivery.delivered.tryAcquire(1, 5, TimeUnit.SECONDS));
+        assertEquals(List.of("keesun@email.com"), delivery.sent());
+    }
+
+    @DisplayName("롤백되면 메일을 보내지 않는다")
+    @Test
+    void sendEmail_rollback() throws InterruptedException {
+        asyncEmailService = start(10, 1, Duration.ZERO);
+
+        TransactionSynchronizationManager.initSynchronization();
+        asyncEmailService.sendEmail(emailMessage("keesun@email.com"));
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+        asyncEmailService.stop(); //대기열에 남은 메일까지 보내고 멈춘다.
+
+        assertTrue(delivery.sent().isEmpty());
+        assertEquals(0, asyncEmailService.getSentCount());
+    }
+
+    @DisplayName("대기열이 가득 차면 요청 스레드에서 직접 보내고, 대기열 길이와 거절 수를 센다")
+    @Test
+    void sendEmail_queueFull() throws InterruptedException {
+        asyncEmailService = start(1, 1, Duration.ZERO);
+        delivery.gate = new CountDownLatch(1); //워커는 첫 메일을 보내다가 멈춘다.
+
+        asyncEmailService.sendEmail(emailMessage("one@email.com"));
+        assertTrue(delivery.workerBlocked.await(5, TimeUnit.SECONDS));
+        asyncEmailService.sendEmail(emailMessage("two@email.com")); //대기열에 들어간다.
+        assertEquals(1.0, registry.get("studyolle.email.queue.depth").gauge().value());
+
+        asyncEmailService.sendEmail(emailMessage("three@email.com")); //대기열이 가득 찼다.
+        assertEquals(Thread.currentThread().getName(), delivery.threadOf("three@email.com"));
+        assertEquals(1.0, registry.get("studyolle.email.rejected").functionCounter().count());
+
+        delivery.gate.countDown();
+        asyncEmailService.stop();
+        assertEquals(3.0, registry.get("studyolle.email.sent").functionCounter().count());
+        assertTrue(delivery.threadOf("one@email.com").startsWith("email-dispatch-"));
+    }
+
+    @DisplayName("batch-window 동안 들어온 메일은 batch-size까지 묶어서 보낸다")
+    @Test
+    void sendEmail_batch() throws InterruptedException {
+        asyncEmailService = start(10, 3, Duration.ofSeconds(5));
+
+        asyncEmailService.sendEmail(emailMessage("one@email.com"));
+        asyncEmailService.sendEmail(emailMessage("two@email.com"));
+        asyncEmailService.sendEmail(emailMessage("three@email.com"));
+        assertTrue(delivery.delivered.tryAcquire(3, 5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(List.of("one@email.com", "two@email.com", "three@email.com")), delivery.batches);
+    }
+
+    @DisplayName("보내지 못한 메일은 실패로 세고, 대기열에 들어간 뒤 발송까지 걸린 시간을 기록한다")
+    @Test
+    void sendEmail_metrics() throws InterruptedException {
+        asyncEmailService = start(10, 1, Duration.ZERO);
+
+        asyncEmailService.sendEmail(emailMessage("one@email.com"));
+        asyncEmailService.sendEmail(emailMessage("fail@email.com"));
+        asyncEmailService.stop();
+
+        assertEquals(1.0, registry.get("studyolle.email.sent").functionCounter().count());
+        assertEquals(1.0, registry.get("studyolle.email.failed").functionCounter().count());
+        Timer deliveryTimer = registry.get("studyolle.email.delivery").timer();
+        assertEquals(2, deliveryTimer.count());
+        assertTrue(deliveryTimer.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(asyncEmailService.getMaxLatencyMillis() > 0);
+    }
+
+    private AsyncEmailService start(int queueCapacity, int batchSize, Duration batchWindow) {
+        EmailDispatchProperties properties = new EmailDispatchProperties();
+        properties.setQueueCapacity(queueCapacity);
+        properties.setWorkerCount(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        properties.setBatchSize(batchSize);
+        properties.setBatchWindow(batchWindow);
+        AsyncEmailService service = new AsyncEmailService(delivery, properties);
+        service.bindTo(registry);
+        service.start();
+        return service;
+    }
+
+    private EmailMessage emailMessage(String to) {
+        return EmailMessage.builder()
+                .to(to)
+                .subject("스터디올래, 테스트")
+                .message("<p>테스트</p>")
+                .build();
+    }
+
+    private static class RecordingEmailService implements EmailService {
+
+        private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> threads = Collections.synchronizedList(new ArrayList<>()); //"받는 사람=보낸 스레드"
+        private final Semaphore delivered = new Semaphore(0);
+        private final CountDownLatch workerBlocked = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public void sendEmail(EmailMessage emailMessage) {
+            sendEmails(List.of(emailMessage));
+        }
+
+        @Override
+        public List<EmailMessage> sendEmails(List<EmailMessage> emailMessages) {
+            String thread = Thread.currentThread().getName();
+            if (thread.startsWith("email-dispatch-")) { //워커만 gate에서 기다린다.
+                workerBlocked.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            List<EmailMessage> failed = new ArrayList<>();
+            List<String> batch = new ArrayList<>();
+            for (EmailMessage emailMessage : emailMessages) {
+                if (emailMessage.getTo().startsWith("fail")) {
+                    failed.add(emailMessage);
+                    continue;
+                }
+                batch.add(emailMessage.getTo());
+                threads.add(emailMessage.getTo() + "=" + thread);
+            }
+            if (emailMessages.size() == 1 && !failed.isEmpty()) {
+                delivered.release();
+                throw new IllegalStateException("cannot send to " + emailMessages.get(0).getTo());
+            }
+            batches.add(batch);
+            delivered.release(emailMessages.size());
+            return failed;
+        }
+
+        private List<String> sent() {
+            return batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+
+        private String threadOf(String to) {
+            synchronized (threads) {
+                return threads.stream()
+                        .filter(entry -> entry.startsWith(to + "="))
+                        .map(entry -> entry.substring(to.length() + 1))
+                        .findFirst()
+                        .orElse(null);
+            }
+        }
+    }
+}
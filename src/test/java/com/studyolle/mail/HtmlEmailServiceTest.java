@@ -0,0 +1,84 @@
+package com.studyolle.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class Name : HtmlEmailServiceTest
+ * Description : 로컬 가짜 SMTP 서버(GreenMail)로 메일 발송 테스트
+ */
+class HtmlEmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private HtmlEmailService htmlEmailService;
+
+    @BeforeEach
+    void beforeEach() {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        htmlEmailService = new HtmlEmailService(javaMailSender);
+    }
+
+    @DisplayName("메일 한 통 발송")
+    @Test
+    void sendEmail() {
+        htmlEmailService.sendEmail(emailMessage("keesun@email.com"));
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    @DisplayName("메일 한 통 발송 - 만들 수 없는 메일은 예외를 던져 실패로 센다")
+    @Test
+    void sendEmail_with_wrong_address() {
+        assertThrows(MailPreparationException.class, () -> htmlEmailService.sendEmail(emailMessage("wrong address")));
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @DisplayName("메일 묶음 발송 - SMTP 연결 하나로 전부 발송")
+    @Test
+    void sendEmails() {
+        List<EmailMessage> failed = htmlEmailService.sendEmails(List.of(
+                emailMessage("one@email.com"),
+                emailMessage("two@email.com"),
+                emailMessage("three@email.com")));
+
+        assertTrue(failed.isEmpty());
+        assertEquals(3, greenMail.getReceivedMessages().length);
+    }
+
+    @DisplayName("메일 묶음 발송 - 실패한 메일만 돌려준다")
+    @Test
+    void sendEmails_with_wrong_address() {
+        EmailMessage wrong = emailMessage("wrong address");
+
+        List<EmailMessage> failed = htmlEmailService.sendEmails(List.of(
+                emailMessage("one@email.com"),
+                wrong,
+                emailMessage("two@email.com")));
+
+        assertEquals(List.of(wrong), failed);
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+
+    private EmailMessage emailMessage(String to) {
+        return EmailMessage.builder()
+                .to(to)
+                .subject("스터디올래, 테스트")
+                .message("<p>테스트</p>")
+                .build();
+    }
+}
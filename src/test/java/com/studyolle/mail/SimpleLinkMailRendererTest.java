@@ -0,0 +1,61 @@
+package com.studyolle.mail;
+
+import com.studyolle.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class Name : SimpleLinkMailRendererTest
+ * Description : 미리 나눠둔 템플릿 조각으로 만든 본문이 TemplateEngine 결과와 같은지 확인
+ */
+class SimpleLinkMailRendererTest {
+
+    private SpringTemplateEngine templateEngine;
+    private AppProperties appProperties;
+    private SimpleLinkMailRenderer simpleLinkMailRenderer;
+
+    @BeforeEach
+    void beforeEach() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        simpleLinkMailRenderer = new SimpleLinkMailRenderer(templateEngine, appProperties);
+    }
+
+    @DisplayName("TemplateEngine으로 처리한 결과와 같다")
+    @Test
+    void render() {
+        assertRenderedSame("keesun", "스터디올래 서비스를 사용하려면 링크를 클릭하세요.",
+                "/check-email-token?token=3ae31bc9&email=keesun@email.com", "이메일 인증하기");
+    }
+
+    @DisplayName("html 특수문자와 null도 TemplateEngine과 같게 escape한다")
+    @Test
+    void render_with_special_characters() {
+        assertRenderedSame("<script>\"'&", null, "/login-by-email?token=a&email=\"b\"", "로그인 <하기>");
+    }
+
+    private void assertRenderedSame(String nickname, String message, String link, String linkName) {
+        Context context = new Context();
+        context.setVariable("link", link);
+        context.setVariable("nickname", nickname);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost());
+
+        assertEquals(templateEngine.process(SimpleLinkMailRenderer.TEMPLATE, context),
+                simpleLinkMailRenderer.render(nickname, message, link, linkName));
+    }
+}
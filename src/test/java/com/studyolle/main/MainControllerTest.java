@@ -3,6 +3,7 @@ package com.studyolle.main;
 import com.studyolle.account.AccountRepository;
 import com.studyolle.account.AccountService;
 import com.studyolle.account.form.SignUpForm;
+import com.studyolle.domain.Account;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,11 +11,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.servlet.http.Cookie;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
-import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -29,6 +44,10 @@ class MainControllerTest {
     AccountService accountService;
     @Autowired
     private AccountRepository accountRepository;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+    @Autowired
+    SessionRepository<? extends Session> sessionRepository;
 
     @BeforeEach
     void beforeEach() {
@@ -53,7 +72,7 @@ class MainControllerTest {
                         .param("password", "12345678")) //스프링 시큐리티가 알아서 login 처리해준다.
                 .andExpect(status().is3xxRedirection()) // HTTP 응답 상태 코드가 3xx(리디렉션)인지 확인
                 .andExpect(redirectedUrl("/")) //URL(/)로 리디렉션되는지를 확인
-                .andExpect(authenticated().withUsername("test")); //이 부분은 사용자가 성공적으로 인증되었는지 확인
+                .andExpect(result -> assertEquals("test", storedAuthentication(result.getResponse().getCookie("SESSION")).getName())); //이 부분은 사용자가 성공적으로 인증되었는지 확인
         // UserAccount클래스에서 account.getNickname으로 호출했기때문에 이메일 사용하지않는것이다.
     }
 
@@ -67,10 +86,66 @@ class MainControllerTest {
                         .param("password", "12345678")) //스프링 시큐리티가 알아서 login 처리해준다.
                 .andExpect(status().is3xxRedirection()) // HTTP 응답 상태 코드가 3xx(리디렉션)인지 확인
                 .andExpect(redirectedUrl("/")) //URL(/)로 리디렉션되는지를 확인
-                .andExpect(authenticated().withUsername("test")); //이 부분은 사용자가 성공적으로 인증되었는지 확인
+                .andExpect(result -> assertEquals("test", storedAuthentication(result.getResponse().getCookie("SESSION")).getName())); //이 부분은 사용자가 성공적으로 인증되었는지 확인
         // UserAccount클래스에서 account.getNickname으로 호출했기때문에 이메일 사용하지않는것이다.
     }
 
+    @DisplayName("로그인 성공 - 예전 cost로 저장된 비밀번호는 다시 해시")
+    @Test
+    void login_rehash() throws Exception {
+        Account account = accountRepository.findByNickname("test");
+        account.setPassword("{bcrypt}" + new BCryptPasswordEncoder(4).encode("12345678"));
+        accountRepository.save(account);
+
+        mockMvc.perform(post("/login")
+                        .param("username", "test")
+                        .with(csrf())
+                        .param("password", "12345678"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(result -> assertEquals("test", storedAuthentication(result.getResponse().getCookie("SESSION")).getName()));
+
+        String rehashed = accountRepository.findByNickname("test").getPassword();
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$10$"));
+        assertTrue(passwordEncoder.matches("12345678", rehashed));
+    }
+
+    @DisplayName("로그인 유지 - 세션 저장소(JDBC)에 저장한 로그인 정보로 다음 요청을 인증한다")
+    @Test
+    void login_session_and_rememberMe() throws Exception {
+        MvcResult login = mockMvc.perform(post("/login")
+                        .param("username", "test")
+                        .param("password", "12345678")
+                        .param("remember-me", "on")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+        Cookie sessionCookie = login.getResponse().getCookie("SESSION");
+        Cookie rememberMeCookie = login.getResponse().getCookie("remember-me");
+        assertNotNull(sessionCookie);
+        assertNotNull(rememberMeCookie);
+
+        mockMvc.perform(get("/settings/profile").cookie(sessionCookie)) //폼 로그인 세션
+                .andExpect(status().isOk());
+        assertEquals(UsernamePasswordAuthenticationToken.class, storedAuthentication(sessionCookie).getClass());
+
+        MvcResult rememberMe = mockMvc.perform(get("/settings/profile").cookie(rememberMeCookie)) //세션 없이 자동 로그인
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie rememberMeSessionCookie = rememberMe.getResponse().getCookie("SESSION");
+        assertNotNull(rememberMeSessionCookie);
+
+        mockMvc.perform(get("/settings/profile").cookie(rememberMeSessionCookie)) //자동 로그인으로 만든 세션
+                .andExpect(status().isOk());
+        assertEquals(RememberMeAuthenticationToken.class, storedAuthentication(rememberMeSessionCookie).getClass());
+    }
+
+    private Authentication storedAuthentication(Cookie sessionCookie) { //로그인 정보는 MockHttpSession이 아니라 세션 저장소(JDBC)에 있다.
+        String sessionId = new String(Base64.getDecoder().decode(sessionCookie.getValue()));
+        Session session = sessionRepository.findById(sessionId);
+        SecurityContext securityContext = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        return securityContext.getAuthentication();
+    }
+
     @DisplayName("로그인 실패")
     @Test
     void login_fail() throws Exception {
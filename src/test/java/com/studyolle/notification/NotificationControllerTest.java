@@ -0,0 +1,153 @@
+package com.studyolle.notification;
+
+import com.studyolle.WithAccount;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.account.AccountService;
+import com.studyolle.account.form.SignUpForm;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import com.studyolle.event.DomainEventRelay;
+import com.studyolle.settings.form.Notifications;
+import com.studyolle.study.StudyCreatedEvent;
+import com.studyolle.study.StudyRepository;
+import com.studyolle.study.StudyService;
+import com.studyolle.tag.TagRepository;
+import com.studyolle.zone.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired NotificationService notificationService;
+    @Autowired DomainEventRelay domainEventRelay;
+    @Autowired NotificationFanOut notificationFanOut;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 개설 알림 - 관심 주제가 같고 웹 알림을 켠 계정에게만, 목록을 보면 읽음")
+    @Test
+    void studyCreated() throws Exception {
+        Tag spring = tagRepository.save(Tag.builder().title("Spring").build());
+        Account keesun = accountRepository.findByNickname("keesun");
+        accountService.addTag(keesun, spring);
+
+        Account emailOnly = newAccount("emailonly"); //웹 알림을 끈 계정
+        accountService.addTag(emailOnly, spring);
+        Notifications notifications = new Notifications();
+        notifications.setStudyCreatedByEmail(true);
+        notifications.setStudyCreatedByWeb(false);
+        accountService.updateNotifications(emailOnly, notifications);
+        newAccount("notag"); //관심 주제가 없는 계정
+
+        Study study = new Study();
+        study.setPath("spring-study");
+        study.setTitle("스프링 스터디");
+        study.setTags(new HashSet<>(Set.of(spring)));
+        studyService.createNewStudy(study, accountRepository.findByNickname("notag"));
+
+        domainEventRelay.relay(); //먼저 시작한 전달이 있으면 끝날 때까지 기다린다.
+        assertEquals(1, notificationRepository.count());
+        assertEquals(1, notificationService.getUnreadCount(keesun.getId()));
+
+        notificationFanOut.handleStudyCreated(new StudyCreatedEvent(study.getId(), study.getPath(), study.getTitle(),
+                study.getShortDescription(), Set.of(spring.getId()), Set.of())); //같은 이벤트가 다시 전달되어도
+        assertEquals(1, notificationRepository.count()); //알림을 두 번 만들지 않는다.
+
+        mockMvc.perform(get("/"))
+                .andExpect(model().attribute(NotificationInterceptor.UNREAD_NOTIFICATION_COUNT, 1L));
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attributeExists("notifications"));
+
+        assertEquals(0, notificationService.getUnreadCount(keesun.getId()));
+        mockMvc.perform(get("/"))
+                .andExpect(model().attribute(NotificationInterceptor.UNREAD_NOTIFICATION_COUNT, 0L));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("태그와 지역이 모두 있는 스터디 - 관심 주제와 활동 지역이 모두 겹치는 계정에게만")
+    @Test
+    void studyCreated_tagsAndZones() throws Exception {
+        Tag spring = tagRepository.save(Tag.builder().title("Spring").build());
+        Zone zone = zoneRepository.findAll().get(0); //시작할 때 읽어둔 지역
+        Account keesun = accountRepository.findByNickname("keesun");
+        accountService.addTag(keesun, spring);
+        accountService.addZone(keesun, zone);
+
+        Account tagOnly = newAccount("tagonly"); //지역이 다른 계정
+        accountService.addTag(tagOnly, spring);
+
+        Account removed = newAccount("removed"); //지역을 뺀 계정
+        accountService.addTag(removed, spring);
+        accountService.addZone(removed, zone);
+        accountService.removeZone(removed, zone);
+
+        Study study = new Study();
+        study.setPath("spring-zone-study");
+        study.setTitle("스프링 지역 스터디");
+        study.setTags(new HashSet<>(Set.of(spring)));
+        study.setZones(new HashSet<>(Set.of(zone)));
+        studyService.createNewStudy(study, tagOnly);
+
+        domainEventRelay.relay(); //먼저 시작한 전달이 있으면 끝날 때까지 기다린다.
+        assertEquals(1, notificationRepository.count());
+        assertEquals(1, notificationService.getUnreadCount(keesun.getId()));
+        assertEquals(0, notificationService.getUnreadCount(tagOnly.getId()));
+        assertEquals(0, notificationService.getUnreadCount(removed.getId()));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("관심 주제, 지역이 없는 스터디 - 알림 없음")
+    @Test
+    void studyCreated_noRecipients() throws Exception {
+        Study study = new Study();
+        study.setPath("no-tag-study");
+        studyService.createNewStudy(study, accountRepository.findByNickname("keesun"));
+        domainEventRelay.relay();
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk());
+        assertEquals(0, notificationRepository.count());
+    }
+
+    private Account newAccount(String nickname) {
+        SignUpForm signUpForm = new SignUpForm();
+        signUpForm.setNickname(nickname);
+        signUpForm.setEmail(nickname + "@email.com");
+        signUpForm.setPassword("12345678");
+        return accountService.processNewAccount(signUpForm);
+    }
+}
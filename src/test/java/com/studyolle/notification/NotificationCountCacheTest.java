@@ -0,0 +1,40 @@
+package com.studyolle.notification;
+
+import com.studyolle.config.NotificationProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationCountCacheTest {
+
+    @DisplayName("담아둔 수는 count-cache-ttl이 지나면 다시 센다 (다른 서버에서 읽은 알림)")
+    @Test
+    void get_expires() throws InterruptedException {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setCountCacheTtl(Duration.ofMillis(50));
+        NotificationCountCache cache = new NotificationCountCache(properties);
+        AtomicLong unread = new AtomicLong(3);
+
+        assertEquals(3, cache.get(1L, accountId -> unread.get()));
+        unread.set(0); //이 서버의 evict 없이 바뀐 수
+        assertEquals(3, cache.get(1L, accountId -> unread.get()));
+
+        Thread.sleep(150);
+        assertEquals(0, cache.get(1L, accountId -> unread.get()));
+    }
+
+    @DisplayName("evict하면 바로 다시 센다")
+    @Test
+    void evict() {
+        NotificationCountCache cache = new NotificationCountCache(new NotificationProperties());
+        cache.get(1L, accountId -> 3L);
+
+        cache.evict(1L);
+
+        assertEquals(0, cache.get(1L, accountId -> 0L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.studyolle.search;
+
+import com.studyolle.WithAccount;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Study;
+import com.studyolle.event.DomainEventRelay;
+import com.studyolle.study.StudyRepository;
+import com.studyolle.study.StudyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudySearchControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyService studyService;
+    @Autowired StudySearchService studySearchService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired DomainEventRelay domainEventRelay;
+
+    @BeforeEach
+    void beforeEach() {
+        studySearchService.rebuild(); //다른 테스트가 지운 스터디가 색인에 남아 있을 수 있다.
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        studySearchService.rebuild();
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 검색 - 커밋된 스터디만 색인")
+    @Test
+    void searchStudy() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                studyService.createNewStudy(study("spring", "스프링 스터디"), accountRepository.findByNickname("keesun")));
+        transactionTemplate.executeWithoutResult(status -> {
+            studyService.createNewStudy(study("rollback", "스프링 롤백"), accountRepository.findByNickname("keesun"));
+            status.setRollbackOnly();
+        });
+        domainEventRelay.relay(); //색인은 outbox를 거쳐 커밋된 스터디만 반영한다.
+
+        mockMvc.perform(get("/search/study").param("keyword", "스프링"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"))
+                .andExpect(model().attribute("studyPage", hasProperty("totalHits", is(1L))));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 검색 - 공개하지 않은 스터디는 찾지 않는다")
+    @Test
+    void searchStudy_draft() throws Exception {
+        Study draft = study("draft", "스프링 초안");
+        draft.setPublished(false);
+        transactionTemplate.executeWithoutResult(status ->
+                studyService.createNewStudy(draft, accountRepository.findByNickname("keesun")));
+        domainEventRelay.relay();
+
+        mockMvc.perform(get("/search/study").param("keyword", "스프링"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("studyPage", hasProperty("totalHits", is(0L))));
+    }
+
+    @DisplayName("스터디 검색 - 로그인하지 않아도 검색")
+    @Test
+    void searchStudy_anonymous() throws Exception {
+        mockMvc.perform(get("/search/study").param("keyword", "스프링"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("account"));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("색인 다시 만들기 - DB의 스터디를 모두 색인")
+    @Test
+    void rebuild() {
+        studyService.createNewStudy(study("spring", "스프링 스터디"), accountRepository.findByNickname("keesun"));
+
+        assertEquals(1, studySearchService.rebuild());
+        assertEquals(1, studySearchService.search("스프링", null, null, 0).getTotalHits());
+    }
+
+    private Study study(String path, String title) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(title);
+        study.setShortDescription("short description");
+        study.setFullDescription("<p>full description</p>");
+        study.setPublished(true);
+        return study;
+    }
+}
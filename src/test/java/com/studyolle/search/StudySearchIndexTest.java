@@ -0,0 +1,137 @@
+package com.studyolle.search;
+
+import com.studyolle.config.StudySearchProperties;
+import com.studyolle.domain.Study;
+import com.studyolle.domain.Tag;
+import com.studyolle.domain.Zone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudySearchIndexTest {
+
+    private final Zone seoul = Zone.builder().id(1L).city("Seoul").localNameOfCity("서울").province("none").build();
+    private final Zone busan = Zone.builder().id(2L).city("Busan").localNameOfCity("부산").province("none").build();
+
+    private StudySearchIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new StudySearchIndex(new StudySearchProperties()); //색인 디렉터리가 비어 있으므로 메모리 색인
+        index.index(study(1L, "스프링 부트 스터디", "<p>자바와 <b>스프링</b>을 공부합니다.</p>", Set.of("Spring", "Java"), Set.of(seoul)), false);
+        index.index(study(2L, "파이썬 알고리즘", "<p>매주 알고리즘 문제를 풉니다.</p>", Set.of("Python"), Set.of(busan)), false);
+        index.index(study(3L, "JPA 스터디", "<p>스프링 데이터 JPA를 읽습니다.</p>", Set.of("JPA", "Spring"), Set.of(busan)), true);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        index.close();
+    }
+
+    @DisplayName("검색어 - 조사가 붙은 본문 낱말도 찾고, 이름에 있으면 앞에 온다")
+    @Test
+    void keyword() {
+        StudySearchResult result = index.search("스프링", null, null, 0, 10);
+
+        assertEquals(2, result.getTotalHits());
+        assertEquals(List.of(1L, 3L), ids(result));
+        assertEquals("/study-1", "/" + result.getContent().get(0).getPath());
+    }
+
+    @DisplayName("검색어 - html 태그는 검색하지 않는다")
+    @Test
+    void keyword_html() {
+        assertEquals(0, index.search("p", null, null, 0, 10).getTotalHits());
+    }
+
+    @DisplayName("검색어 - 지역 이름과 태그로도 찾는다")
+    @Test
+    void keyword_zoneAndTag() {
+        assertEquals(List.of(2L, 3L), ids(index.search("부산", null, null, 0, 10)).stream().sorted().collect(Collectors.toList()));
+        assertEquals(List.of(2L), ids(index.search("Python", null, null, 0, 10)));
+    }
+
+    @DisplayName("태그, 지역 조건 - 검색어 없이 최근에 만든 순")
+    @Test
+    void filters() {
+        assertEquals(List.of(3L, 1L), ids(index.search("", List.of("Spring"), null, 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("", List.of("Spring"), List.of(busan.toString()), 0, 10)));
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("", List.of(""), null, 0, 10)));
+    }
+
+    @DisplayName("페이지 - 다음 페이지가 있는지와 깊은 페이지 제한")
+    @Test
+    void paging() {
+        StudySearchResult first = index.search("", null, null, 0, 2);
+        assertEquals(List.of(3L, 2L), ids(first));
+        assertTrue(first.isHasNext());
+
+        StudySearchResult second = index.search("", null, null, 1, 2);
+        assertEquals(List.of(1L), ids(second));
+        assertFalse(second.isHasNext());
+
+        assertTrue(index.search("", null, null, 1000, 2).getContent().isEmpty());
+    }
+
+    @DisplayName("페이지 - (page + 1) * size가 int를 넘어도 빈 페이지")
+    @Test
+    void paging_overflow() {
+        StudySearchResult result = index.search("", null, null, Integer.MAX_VALUE / 2, 10);
+
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+    }
+
+    @DisplayName("공개하지 않은 스터디는 검색어, 조건과 상관없이 찾지 않는다")
+    @Test
+    void draft() {
+        Study draft = study(4L, "스프링 초안", "<p>스프링</p>", Set.of("Spring"), Set.of(seoul));
+        draft.setPublished(false);
+        index.index(draft, true);
+
+        assertEquals(List.of(1L, 3L), ids(index.search("스프링", null, null, 0, 10)));
+        assertEquals(List.of(3L, 1L), ids(index.search("", List.of("Spring"), null, 0, 10)));
+        assertEquals(4, index.numDocs()); //색인에는 있다. (DB와 문서 수 비교)
+
+        draft.setPublished(true); //공개하면 다시 색인해서 검색에 나온다.
+        index.index(draft, true);
+        assertEquals(List.of(4L, 3L, 1L), ids(index.search("", List.of("Spring"), null, 0, 10)));
+    }
+
+    @DisplayName("수정, 삭제")
+    @Test
+    void updateAndDelete() {
+        index.index(study(2L, "파이썬 데이터 분석", "", Set.of("Python"), Set.of(busan)), true);
+        assertEquals(0, index.search("알고리즘", null, null, 0, 10).getTotalHits());
+        assertEquals(List.of(2L), ids(index.search("분석", null, null, 0, 10)));
+
+        index.delete(2L);
+        assertEquals(2, index.numDocs());
+    }
+
+    private static List<Long> ids(StudySearchResult result) {
+        return result.getContent().stream().map(StudySearchResult.Hit::getId).collect(Collectors.toList());
+    }
+
+    private static Study study(Long id, String title, String fullDescription, Set<String> tags, Set<Zone> zones) {
+        Study study = new Study();
+        study.setId(id);
+        study.setPath("study-" + id);
+        study.setTitle(title);
+        study.setShortDescription(title + " 소개");
+        study.setFullDescription(fullDescription);
+        study.setPublished(true);
+        study.setTags(tags.stream() //Tag는 id로 비교하므로 id를 넣어야 Set에서 합쳐지지 않는다.
+                .map(tag -> Tag.builder().id((long) tag.hashCode()).title(tag).build())
+                .collect(Collectors.toSet()));
+        study.setZones(zones);
+        return study;
+    }
+}
@@ -4,11 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studyolle.WithAccount;
 import com.studyolle.account.AccountRepository;
 import com.studyolle.account.AccountService;
+import com.studyolle.availability.AvailabilityIndex;
 import com.studyolle.domain.Account;
 import com.studyolle.domain.Tag;
 import com.studyolle.domain.Zone;
 import com.studyolle.settings.form.TagForm;
 import com.studyolle.settings.form.ZoneForm;
+import com.studyolle.tag.TagCatalog;
 import com.studyolle.tag.TagRepository;
 import com.studyolle.zone.ZoneRepository;
 import jdk.jfr.SettingControl;
@@ -24,9 +26,14 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.parameters.P;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Base64;
+
 import static com.studyolle.settings.SettingsController.*;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -43,8 +50,10 @@ class SettingsControllerTest {
     @Autowired PasswordEncoder passwordEncoder;
     @Autowired ObjectMapper objectMapper;
     @Autowired TagRepository tagRepository;
+    @Autowired TagCatalog tagCatalog;
     @Autowired AccountService accountService;
     @Autowired ZoneRepository zoneRepository;
+    @Autowired AvailabilityIndex availabilityIndex;
 
     private Zone testZone = Zone.builder().city("test").localNameOfCity("테스트시").province("테스트주").build();
 
@@ -70,6 +79,16 @@ class SettingsControllerTest {
                 .andExpect(model().attributeExists("zones"));
     }
 
+    @WithAccount("keesun")
+    @DisplayName("지역 자동완성 - 도시 이름 접두어")
+    @Test
+    void searchZones() throws Exception {
+        mockMvc.perform(get(ROOT + SETTINGS + ZONES + "/search")
+                        .param("keyword", "테스트"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(testZone.toString()));
+    }
+
     @WithAccount("keesun")
     @DisplayName("계정의 지역 정보 추가")
     @Test
@@ -119,6 +138,26 @@ class SettingsControllerTest {
                 .andExpect(model().attributeExists("tags"));
     }
 
+    @WithAccount("keesun")
+    @DisplayName("태그 자동완성 - 접두어와 최대 개수")
+    @Test
+    void searchTags() throws Exception {
+        tagCatalog.first(1); //사전을 먼저 읽어둬야 add가 반영된다.
+        tagCatalog.add("springboot");
+        tagCatalog.add("springdata");
+        try {
+            mockMvc.perform(get(ROOT + SETTINGS + TAGS + "/search")
+                            .param("keyword", "SPRING")
+                            .param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0]").value("springboot"));
+        } finally {
+            tagCatalog.remove("springboot");
+            tagCatalog.remove("springdata");
+        }
+    }
+
     @WithAccount("keesun")
     @DisplayName("계정에 태그 추가")
     @Test
@@ -202,6 +241,26 @@ class SettingsControllerTest {
                 .andExpect(model().attributeExists("nicknameForm"));
     }
 
+    @WithAccount("keesun")
+    @DisplayName("닉네임 수정하기 - 검사 뒤에 다른 곳에서 같은 닉네임을 쓰면 unique 제약 위반을 폼 에러로")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) //닉네임을 바꾸는 트랜잭션에서 unique 제약에 걸린다.
+    void updateAccount_concurrent_duplicate() throws Exception {
+        availabilityIndex.isNicknameAvailable("warm-up"); //색인을 먼저 만든다.
+        accountRepository.save(Account.builder() //중복 확인 색인(AvailabilityIndex)을 거치지 않고 저장된 계정 - 다른 서버에서 바꾼 경우
+                .email("other@email.com").nickname("whiteship").password("12345678").build());
+
+        mockMvc.perform(post(ROOT + SETTINGS + ACCOUNT)
+                        .param("nickname", "whiteship")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name(SETTINGS + ACCOUNT))
+                .andExpect(model().attributeHasFieldErrors("nicknameForm", "nickname"))
+                .andExpect(model().attribute("account", hasProperty("nickname", is("keesun"))));
+
+        assertNotNull(accountRepository.findByNickname("keesun"));
+    }
+
     @WithAccount("keesun")
     @DisplayName("프로필 수정 폼")
     @Test
@@ -228,6 +287,27 @@ class SettingsControllerTest {
         assertEquals(bio, keesun.getBio());
     }
 
+    @WithAccount("keesun")
+    @DisplayName("프로필 수정하기 - 이미지는 주소만 저장")
+    @Test
+    void updateProfile_image() throws Exception {
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        mockMvc.perform(post(ROOT + SETTINGS + PROFILE)
+                        .param("profileImage", dataUrl)
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        Account keesun = accountRepository.findByNickname("keesun");
+        assertTrue(keesun.getProfileImage().matches("/images/\\d+"));
+
+        mockMvc.perform(post(ROOT + SETTINGS + PROFILE)
+                        .param("profileImage", "")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        assertNull(accountRepository.findByNickname("keesun").getProfileImage());
+    }
+
     @WithAccount("keesun")
     @DisplayName("프로필 수정하기 - 입력값 에러")
     @Test
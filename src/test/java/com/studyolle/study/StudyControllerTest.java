@@ -0,0 +1,202 @@
+package com.studyolle.study;
+
+import com.studyolle.WithAccount;
+import com.studyolle.account.AccountRepository;
+import com.studyolle.domain.Account;
+import com.studyolle.domain.Study;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudyControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyService studyService;
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 개설 - 스터디 화면으로 이동")
+    @Test
+    void newStudySubmit() throws Exception {
+        mockMvc.perform(post("/new-study")
+                        .param("path", "test-path")
+                        .param("title", "study title")
+                        .param("shortDescription", "short description")
+                        .param("fullDescription", "<p>full description</p>")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/test-path"));
+
+        Study study = studyRepository.findAll().get(0);
+        assertEquals("test-path", study.getPath());
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 개설 - 검사 뒤에 다른 곳에서 같은 경로로 개설하면 unique 제약 위반을 폼 에러로")
+    @Test
+    void newStudySubmit_with_concurrent_duplicate() throws Exception {
+        studyRepository.save(study("taken-path")); //중복 확인 색인(AvailabilityIndex)을 거치지 않고 저장된 스터디 - 다른 서버에서 개설한 경우
+
+        mockMvc.perform(post("/new-study")
+                        .param("path", "taken-path")
+                        .param("title", "study title")
+                        .param("shortDescription", "short description")
+                        .param("fullDescription", "<p>full description</p>")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/form"))
+                .andExpect(model().attributeHasFieldErrors("studyForm", "path"));
+
+        assertEquals(1, studyRepository.count());
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 개설 - 본문의 스크립트, 이벤트 속성은 지우고 저장한다")
+    @Test
+    void newStudySubmit_sanitize() throws Exception {
+        mockMvc.perform(post("/new-study")
+                        .param("path", "test-path")
+                        .param("title", "study title")
+                        .param("shortDescription", "short description")
+                        .param("fullDescription", "<p onclick=\"alert(1)\">full <b>description</b></p><script>alert(2)</script>"
+                                + "<img src=\"https://example.com/a.png\" onerror=\"alert(3)\"><a href=\"javascript:alert(4)\">link</a>")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        String fullDescription = studyRepository.findAll().get(0).getFullDescription();
+        assertTrue(fullDescription.contains("<p>full <b>description</b></p>"));
+        assertTrue(fullDescription.contains("<img src=\"https://example.com/a.png\">"));
+        assertFalse(fullDescription.contains("alert"));
+
+        mockMvc.perform(get("/study/test-path"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("<script>alert"))))
+                .andExpect(content().string(not(containsString("onerror"))));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 화면 - 매니저 수와 로그인 사용자가 매니저인지")
+    @Test
+    void viewStudy() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        studyService.createNewStudy(study("test-path"), keesun);
+
+        mockMvc.perform(get("/study/test-path"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/view"))
+                .andExpect(model().attributeExists("account"))
+                .andExpect(model().attribute("isManager", true))
+                .andExpect(model().attribute("isMember", false))
+                .andExpect(content().string(containsString("<p>full description</p>")));
+
+        StudyView studyView = studyService.getStudyView("test-path");
+        assertEquals(1, studyView.getManagerCount());
+        assertEquals(0, studyView.getMemberCount());
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 화면 - 스터디를 다시 만들면 캐시된 화면을 버린다")
+    @Test
+    void viewStudy_evicted() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        Study study = studyService.createNewStudy(study("test-path"), keesun);
+        assertEquals("study title", studyService.getStudyView("test-path").getTitle());
+
+        studyRepository.delete(study);
+        Study recreated = study("test-path");
+        recreated.setTitle("new title");
+        studyService.createNewStudy(recreated, keesun);
+
+        assertEquals("new title", studyService.getStudyView("test-path").getTitle());
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("스터디 화면 - 없는 스터디")
+    @Test
+    void viewStudy_notFound() {
+        assertThrows(IllegalArgumentException.class, () -> studyService.getStudyView("no-such-path"));
+    }
+
+    @WithAccount("keesun")
+    @DisplayName("공개된 스터디 목록 - 다음 페이지 커서로 끝까지 읽기")
+    @Test
+    void listStudies() throws Exception {
+        Account keesun = accountRepository.findByNickname("keesun");
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 10, 0);
+        for (int i = 1; i <= 5; i++) {
+            Study study = study("study-" + i);
+            study.setPublished(true);
+            study.setPublishedDateTime(i == 5 ? now.plusHours(3) : now.plusHours(i % 3)); //같은 공개 시간은 id 순서
+            study.setRecruiting(i % 2 == 0);
+            studyService.createNewStudy(study, keesun);
+        }
+        Study draft = study("draft");
+        studyService.createNewStudy(draft, keesun);
+
+        String body = mockMvc.perform(get("/studies").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].path").value("study-5"))
+                .andExpect(jsonPath("$.content[1].path").value("study-2"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(body, "$.nextCursor");
+
+        body = mockMvc.perform(get("/studies").param("size", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.content[0].path").value("study-4"))
+                .andExpect(jsonPath("$.content[1].path").value("study-1"))
+                .andReturn().getResponse().getContentAsString();
+        cursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/studies").param("size", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].path").value("study-3"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        mockMvc.perform(get("/studies").param("recruiting", "true"))
+                .andExpect(jsonPath("$.content[*].path", contains("study-2", "study-4")));
+    }
+
+    @DisplayName("공개된 스터디 목록 - 잘못된 커서, 크기")
+    @Test
+    void listStudies_badRequest() throws Exception {
+        mockMvc.perform(get("/studies").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/studies").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Study study(String path) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle("study title");
+        study.setShortDescription("short description");
+        study.setFullDescription("<p>full description</p>");
+        return study;
+    }
+}
@@ -0,0 +1,80 @@
+package com.studyolle.zone;
+
+import com.studyolle.config.ZoneDataProperties;
+import com.studyolle.domain.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Class Name : ZoneServiceTest
+ * Description : 지역 CSV를 chunk-size씩 저장하는지 확인 - DB 대신 EntityManager mock에 불린 순서를 본다.
+ */
+class ZoneServiceTest {
+
+    private EntityManager entityManager;
+    private ZoneService zoneService;
+
+    @BeforeEach
+    void beforeEach() {
+        entityManager = mock(EntityManager.class);
+        ZoneDataProperties properties = new ZoneDataProperties();
+        properties.setChunkSize(2);
+        zoneService = new ZoneService(mock(ZoneRepository.class), mock(ZoneCatalog.class), properties,
+                mock(ResourceLoader.class), entityManager, mock(PlatformTransactionManager.class));
+    }
+
+    @DisplayName("chunk-size마다 flush하고 영속성 컨텍스트를 비운다")
+    @Test
+    void loadZones_chunks() {
+        int count = zoneService.loadZones(csv("Andong,안동시,North Gyeongsang\n"
+                + "Ansan,안산시,Gyeonggi\n"
+                + "\n"
+                + "Anseong,안성시,Gyeonggi\n"
+                + "Sejong,세종시,\n"
+                + "Seoul,서울특별시,none\n"));
+
+        assertEquals(5, count);
+        InOrder inOrder = inOrder(entityManager);
+        for (int persisted : List.of(2, 2, 1)) {
+            inOrder.verify(entityManager, times(persisted)).persist(any(Zone.class));
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+        }
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @DisplayName("열 개수가 틀린 줄은 건너뛰고 나머지를 저장한다")
+    @Test
+    void loadZones_malformedLine() {
+        int count = zoneService.loadZones(csv("Andong,안동시,North Gyeongsang\n"
+                + "Broken\n"
+                + "Ansan,안산시,Gyeonggi,extra\n"
+                + ",,\n"
+                + "Anseong,안성시,Gyeonggi\n"));
+
+        assertEquals(2, count);
+        ArgumentCaptor<Zone> zones = ArgumentCaptor.forClass(Zone.class);
+        verify(entityManager, times(2)).persist(zones.capture());
+        assertEquals(List.of("Andong", "Anseong"),
+                zones.getAllValues().stream().map(Zone::getCity).collect(Collectors.toList()));
+    }
+
+    private static ByteArrayResource csv(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}